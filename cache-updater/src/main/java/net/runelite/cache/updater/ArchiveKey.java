@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, Adam <Adam@sigterm.info>
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
  * All rights reserved.
  *
  * Redistribution and use in source and binary forms, with or without
@@ -22,22 +22,16 @@
  * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
  * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
-package net.runelite.client.util;
+package net.runelite.cache.updater;
 
-import static junit.framework.TestCase.assertTrue;
-import static net.runelite.client.util.WildcardMatcher.matches;
-import static org.junit.Assert.assertFalse;
-import org.junit.Test;
+import lombok.Value;
 
-public class WildcardMatcherTest
+@Value
+class ArchiveKey
 {
-	@Test
-	public void testMatches()
-	{
-		assertTrue(matches("rune*", "rune pouch"));
-		assertTrue(matches("rune*", "Rune pouch"));
-		assertFalse(matches("Abyssal whip", "Adamant dagger"));
-		assertTrue(matches("rune*", "Runeite Ore"));
-		assertTrue(matches("Abyssal whip", "Abyssal whip"));
-	}
-}
\ No newline at end of file
+	private int indexId;
+	private int archiveId;
+	private int nameHash;
+	private int crc;
+	private int revision;
+}
@@ -24,8 +24,14 @@
  */
 package net.runelite.cache.updater;
 
+import com.google.common.base.Stopwatch;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import net.runelite.cache.fs.Archive;
 import net.runelite.cache.fs.Index;
 import net.runelite.cache.fs.Storage;
@@ -33,15 +39,22 @@ import net.runelite.cache.fs.Store;
 import net.runelite.cache.index.FileData;
 import net.runelite.cache.updater.beans.ArchiveEntry;
 import net.runelite.cache.updater.beans.CacheEntry;
+import net.runelite.cache.updater.beans.FileEntry;
 import net.runelite.cache.updater.beans.IndexEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.sql2o.Connection;
 import org.sql2o.ResultSetIterable;
 
 public class CacheStorage implements Storage
 {
+	private static final Logger logger = LoggerFactory.getLogger(CacheStorage.class);
+
 	private CacheEntry cacheEntry;
 	private final CacheDAO cacheDao;
 	private final Connection con;
+	// archives of the loaded cache, which are reused by save
+	private final Map<ArchiveKey, ArchiveEntry> knownArchives = new HashMap<>();
 
 	public CacheStorage(CacheEntry cacheEntry, CacheDAO cacheDao, Connection con)
 	{
@@ -60,6 +73,14 @@ public class CacheStorage implements Storage
 		this.cacheEntry = cacheEntry;
 	}
 
+	/**
+	 * Get the archives of the loaded cache, and any archives created by save
+	 */
+	public Collection<ArchiveEntry> getKnownArchives()
+	{
+		return knownArchives.values();
+	}
+
 	@Override
 	public void init(Store store) throws IOException
 	{
@@ -73,6 +94,8 @@ public class CacheStorage implements Storage
 	@Override
 	public void load(Store store) throws IOException
 	{
+		knownArchives.clear();
+
 		List<IndexEntry> indexes = cacheDao.findIndexesForCache(con, cacheEntry);
 		for (IndexEntry indexEntry : indexes)
 		{
@@ -95,6 +118,9 @@ public class CacheStorage implements Storage
 					archive.setRevision(archiveEntry.getRevision());
 					archive.setHash(archiveEntry.getHash());
 
+					knownArchives.put(new ArchiveKey(indexEntry.getIndexId(), archiveEntry.getArchiveId(),
+						archiveEntry.getNameHash(), archiveEntry.getCrc(), archiveEntry.getRevision()), archiveEntry);
+
 					// File data is not necessary for cache updating
 				}
 			}
@@ -104,29 +130,83 @@ public class CacheStorage implements Storage
 	@Override
 	public void save(Store store) throws IOException
 	{
+		Stopwatch stopwatch = Stopwatch.createStarted();
+
+		List<IndexEntry> indexEntries = new ArrayList<>();
+		List<List<ArchiveEntry>> indexArchives = new ArrayList<>();
+		List<ArchiveEntry> newArchives = new ArrayList<>();
+		List<Archive> newArchiveData = new ArrayList<>();
+
 		for (Index index : store.getIndexes())
 		{
 			IndexEntry entry = cacheDao.createIndex(con, cacheEntry, index.getId(), index.getCrc(), index.getRevision());
+			List<ArchiveEntry> archives = new ArrayList<>(index.getArchives().size());
 
 			for (Archive archive : index.getArchives())
 			{
-				ArchiveEntry archiveEntry = cacheDao.findArchive(con, entry, archive.getArchiveId(),
+				ArchiveKey key = new ArchiveKey(index.getId(), archive.getArchiveId(),
 					archive.getNameHash(), archive.getCrc(), archive.getRevision());
+				ArchiveEntry archiveEntry = knownArchives.get(key);
 				if (archiveEntry == null)
 				{
-					byte[] hash = archive.getHash();
-					archiveEntry = cacheDao.createArchive(con, entry, archive.getArchiveId(),
-						archive.getNameHash(), archive.getCrc(), archive.getRevision(), hash);
-
-					for (FileData file : archive.getFileData())
-					{
-						cacheDao.associateFileToArchive(con, archiveEntry, file.getId(), file.getNameHash());
-					}
+					archiveEntry = new ArchiveEntry();
+					archiveEntry.setArchiveId(archive.getArchiveId());
+					archiveEntry.setNameHash(archive.getNameHash());
+					archiveEntry.setCrc(archive.getCrc());
+					archiveEntry.setRevision(archive.getRevision());
+					archiveEntry.setHash(archive.getHash());
+
+					newArchives.add(archiveEntry);
+					newArchiveData.add(archive);
+					knownArchives.put(key, archiveEntry);
 				}
 
-				cacheDao.associateArchiveToIndex(con, archiveEntry, entry);
+				archives.add(archiveEntry);
+			}
+
+			indexEntries.add(entry);
+			indexArchives.add(archives);
+		}
+
+		long indexTime = stopwatch.elapsed(TimeUnit.MILLISECONDS);
+		stopwatch.reset().start();
+
+		cacheDao.createArchives(con, newArchives);
+
+		long archiveTime = stopwatch.elapsed(TimeUnit.MILLISECONDS);
+		stopwatch.reset().start();
+
+		List<FileEntry> files = new ArrayList<>();
+		for (int i = 0; i < newArchives.size(); ++i)
+		{
+			ArchiveEntry archiveEntry = newArchives.get(i);
+			for (FileData fileData : newArchiveData.get(i).getFileData())
+			{
+				FileEntry file = new FileEntry();
+				file.setArchiveId(archiveEntry.getId());
+				file.setFileId(fileData.getId());
+				file.setNameHash(fileData.getNameHash());
+				files.add(file);
 			}
 		}
+		cacheDao.createFiles(con, files);
+
+		long fileTime = stopwatch.elapsed(TimeUnit.MILLISECONDS);
+		stopwatch.reset().start();
+
+		int associations = 0;
+		for (int i = 0; i < indexEntries.size(); ++i)
+		{
+			List<ArchiveEntry> archives = indexArchives.get(i);
+			cacheDao.associateArchivesToIndex(con, archives, indexEntries.get(i));
+			associations += archives.size();
+		}
+
+		long associateTime = stopwatch.elapsed(TimeUnit.MILLISECONDS);
+
+		logger.info("Saved {} indexes in {}ms, {} new archives in {}ms, {} files in {}ms, {} index archives in {}ms",
+			indexEntries.size(), indexTime, newArchives.size(), archiveTime, files.size(), fileTime,
+			associations, associateTime);
 	}
 
 	@Override
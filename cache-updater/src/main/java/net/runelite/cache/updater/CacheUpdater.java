@@ -24,19 +24,18 @@
  */
 package net.runelite.cache.updater;
 
+import com.google.common.base.Stopwatch;
 import io.minio.MinioClient;
 import io.minio.errors.InvalidEndpointException;
 import io.minio.errors.InvalidPortException;
 import java.io.IOException;
 import java.time.Instant;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import net.runelite.cache.client.CacheClient;
 import net.runelite.cache.client.IndexInfo;
-import net.runelite.cache.fs.Archive;
 import net.runelite.cache.fs.Store;
+import net.runelite.cache.updater.beans.ArchiveEntry;
 import net.runelite.cache.updater.beans.CacheEntry;
 import net.runelite.cache.updater.beans.IndexEntry;
 import net.runelite.http.api.RuneLiteAPI;
@@ -63,6 +62,12 @@ public class CacheUpdater implements CommandLineRunner
 	@Value("${minio.bucket}")
 	private String minioBucket;
 
+	@Value("${minio.upload.threads:8}")
+	private int uploadThreads;
+
+	@Value("${minio.upload.bytes:67108864}")
+	private int uploadBytes;
+
 	@Autowired
 	public CacheUpdater(
 		@Qualifier("Runelite Cache SQL2O") Sql2o sql2o,
@@ -77,7 +82,8 @@ public class CacheUpdater implements CommandLineRunner
 	{
 		int rsVersion = RuneLiteAPI.getRsVersion();
 
-		try (Connection con = sql2o.beginTransaction())
+		try (Connection con = sql2o.beginTransaction();
+			CacheUploader uploader = new CacheUploader(minioClient, minioBucket, uploadThreads, uploadBytes))
 		{
 			CacheDAO cacheDao = new CacheDAO();
 			CacheEntry cache = cacheDao.findMostRecent(con);
@@ -88,14 +94,24 @@ public class CacheUpdater implements CommandLineRunner
 				cache = cacheDao.createCache(con, rsVersion, Instant.now());
 			}
 
+			Stopwatch stopwatch = Stopwatch.createStarted();
+
 			CacheStorage storage = new CacheStorage(cache, cacheDao, con);
 			Store store = new Store(storage);
 			store.load();
 
-			ExecutorService executor = Executors.newSingleThreadExecutor();
+			logger.info("Loaded cache {} in {}ms", cache.getRevision(), stopwatch.elapsed(TimeUnit.MILLISECONDS));
+
+			// archives of the previous cache have already been uploaded
+			for (ArchiveEntry archiveEntry : storage.getKnownArchives())
+			{
+				if (archiveEntry.getHash() != null)
+				{
+					uploader.addKnownHash(archiveEntry.getHash());
+				}
+			}
 
-			CacheClient client = new CacheClient(store, rsVersion,
-				(Archive archive, byte[] data) -> executor.submit(new CacheUploader(minioClient, minioBucket, archive, data)));
+			CacheClient client = new CacheClient(store, rsVersion, uploader);
 
 			client.connect();
 			HandshakeResponseType result = client.handshake().join();
@@ -115,23 +131,27 @@ public class CacheUpdater implements CommandLineRunner
 				return;
 			}
 
+			stopwatch.reset().start();
 			client.download();
+			logger.info("Downloaded cache in {}ms", stopwatch.elapsed(TimeUnit.MILLISECONDS));
 
 			CacheEntry newCache = created ? cache : cacheDao.createCache(con, rsVersion, Instant.now());
 
 			storage.setCacheEntry(newCache);
+			stopwatch.reset().start();
 			store.save();
+			logger.info("Saved cache in {}ms", stopwatch.elapsed(TimeUnit.MILLISECONDS));
 
 			// ensure objects are added to the store before they become
 			// visible in the database
-			executor.shutdown();
-			while (!executor.awaitTermination(1, TimeUnit.SECONDS))
-			{
-				logger.debug("Waiting for termination of executor...");
-			}
+			stopwatch.reset().start();
+			uploader.finish();
+			logger.info("Finished uploading in {}ms", stopwatch.elapsed(TimeUnit.MILLISECONDS));
 
 			// commit database
+			stopwatch.reset().start();
 			con.commit();
+			logger.info("Committed in {}ms", stopwatch.elapsed(TimeUnit.MILLISECONDS));
 		}
 	}
 
@@ -24,8 +24,10 @@
  */
 package net.runelite.cache.updater;
 
+import com.google.common.base.Stopwatch;
 import com.google.common.hash.Hashing;
 import com.google.common.io.BaseEncoding;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.minio.MinioClient;
 import io.minio.errors.ErrorResponseException;
 import io.minio.errors.InsufficientDataException;
@@ -35,39 +37,130 @@ import io.minio.errors.InvalidBucketNameException;
 import io.minio.errors.NoResponseException;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import net.runelite.cache.client.DownloadWatcher;
 import net.runelite.cache.fs.Archive;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.xmlpull.v1.XmlPullParserException;
 
-public class CacheUploader implements Runnable
+/**
+ * Uploads downloaded archives to the object store, addressed by their
+ * sha256 hash. Uploads run concurrently and the amount of archive data
+ * waiting to be uploaded is bounded, blocking the downloader when full.
+ * The first failed upload cancels the remaining uploads.
+ */
+public class CacheUploader implements DownloadWatcher, AutoCloseable
 {
 	private static final Logger logger = LoggerFactory.getLogger(CacheUploader.class);
 
 	private final MinioClient minioClient;
 	private final String minioBucket;
-	private final Archive archive;
-	private final byte[] data;
+	private final int maxInFlightBytes;
+	private final ExecutorService executor;
+	private final Semaphore inFlight;
+	private final Stopwatch stopwatch = Stopwatch.createUnstarted();
+
+	// hashes of objects known to exist, or already being uploaded
+	private final Set<String> knownHashes = ConcurrentHashMap.newKeySet();
+	private final AtomicReference<Exception> failure = new AtomicReference<>();
+
+	private final AtomicInteger known = new AtomicInteger();
+	private final AtomicInteger existing = new AtomicInteger();
+	private final AtomicInteger uploaded = new AtomicInteger();
 
-	public CacheUploader(MinioClient minioClient, String minioBucket, Archive archive, byte[] data)
+	public CacheUploader(MinioClient minioClient, String minioBucket, int threads, int maxInFlightBytes)
 	{
 		this.minioClient = minioClient;
 		this.minioBucket = minioBucket;
-		this.archive = archive;
-		this.data = data;
+		this.maxInFlightBytes = maxInFlightBytes;
+		this.executor = Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder()
+			.setNameFormat("cache-uploader-%d")
+			.build());
+		this.inFlight = new Semaphore(maxInFlightBytes);
+	}
+
+	/**
+	 * Add the hash of an object which is known to already be in the store
+	 */
+	public void addKnownHash(byte[] hash)
+	{
+		knownHashes.add(BaseEncoding.base16().encode(hash));
 	}
 
 	@Override
-	public void run()
+	public void downloadComplete(Archive archive, byte[] data)
 	{
 		byte[] hash = Hashing.sha256().hashBytes(data).asBytes();
 		String hashStr = BaseEncoding.base16().encode(hash);
 
 		archive.setHash(hash);
 
+		if (!stopwatch.isRunning())
+		{
+			stopwatch.start();
+		}
+
+		if (failure.get() != null)
+		{
+			return;
+		}
+
+		if (!knownHashes.add(hashStr))
+		{
+			known.incrementAndGet();
+			return;
+		}
+
+		int permits = Math.min(data.length, maxInFlightBytes);
+		try
+		{
+			inFlight.acquire(permits);
+		}
+		catch (InterruptedException ex)
+		{
+			Thread.currentThread().interrupt();
+			fail(ex);
+			return;
+		}
+
+		try
+		{
+			executor.execute(() ->
+			{
+				try
+				{
+					upload(hashStr, data);
+				}
+				catch (IOException ex)
+				{
+					fail(ex);
+				}
+				finally
+				{
+					inFlight.release(permits);
+				}
+			});
+		}
+		catch (RejectedExecutionException ex)
+		{
+			// cancelled
+			inFlight.release(permits);
+		}
+	}
+
+	private void upload(String hashStr, byte[] data) throws IOException
+	{
 		String path = new StringBuilder()
 			.append(hashStr.substring(0, 2))
 			.append('/')
@@ -76,8 +169,10 @@ public class CacheUploader implements Runnable
 
 		try
 		{
-			try (InputStream in = minioClient.getObject(minioBucket, path))
+			try
 			{
+				minioClient.statObject(minioBucket, path);
+				existing.incrementAndGet();
 				return; // already exists
 			}
 			catch (ErrorResponseException ex)
@@ -86,11 +181,54 @@ public class CacheUploader implements Runnable
 			}
 
 			minioClient.putObject(minioBucket, path, new ByteArrayInputStream(data), data.length, "binary/octet-stream");
+			uploaded.incrementAndGet();
 		}
-		catch (ErrorResponseException | InsufficientDataException | InternalException | InvalidArgumentException | InvalidBucketNameException | NoResponseException | IOException | InvalidKeyException | NoSuchAlgorithmException | XmlPullParserException ex)
+		catch (ErrorResponseException | InsufficientDataException | InternalException | InvalidArgumentException | InvalidBucketNameException | NoResponseException | InvalidKeyException | NoSuchAlgorithmException | XmlPullParserException ex)
 		{
-			logger.warn("unable to upload data to store", ex);
+			throw new IOException("unable to upload " + path, ex);
 		}
 	}
 
+	private void fail(Exception ex)
+	{
+		if (failure.compareAndSet(null, ex))
+		{
+			logger.warn("unable to upload data to store, cancelling uploads", ex);
+			executor.shutdownNow();
+			// wake the downloader if it is waiting for uploads which will now never run
+			inFlight.release(maxInFlightBytes);
+		}
+	}
+
+	/**
+	 * Wait for all submitted uploads to complete
+	 *
+	 * @throws IOException if any upload failed
+	 */
+	public void finish() throws IOException, InterruptedException
+	{
+		executor.shutdown();
+		while (!executor.awaitTermination(1, TimeUnit.SECONDS))
+		{
+			logger.debug("Waiting for uploads to complete...");
+		}
+
+		Exception ex = failure.get();
+		if (ex != null)
+		{
+			throw new IOException("unable to upload cache", ex);
+		}
+
+		logger.info("Uploaded {} archives in {}ms, {} already existed, {} were known",
+			uploaded.get(), stopwatch.elapsed(TimeUnit.MILLISECONDS), existing.get(), known.get());
+	}
+
+	/**
+	 * Cancel any uploads which have not completed
+	 */
+	@Override
+	public void close()
+	{
+		executor.shutdownNow();
+	}
 }
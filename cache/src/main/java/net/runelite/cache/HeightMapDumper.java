@@ -27,6 +27,7 @@ package net.runelite.cache;
 import java.awt.Color;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
 import net.runelite.cache.fs.Store;
 import net.runelite.cache.region.Region;
 import net.runelite.cache.region.RegionLoader;
@@ -51,7 +52,7 @@ public class HeightMapDumper
 	public void load() throws IOException
 	{
 		regionLoader = new RegionLoader(store);
-		regionLoader.loadRegions();
+		regionLoader.loadRegions(ForkJoinPool.commonPool());
 		regionLoader.calculateBounds();
 	}
 
@@ -24,13 +24,26 @@
  */
 package net.runelite.cache;
 
+import com.google.common.base.Throwables;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.Image;
+import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.File;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import javax.imageio.ImageIO;
 import lombok.Getter;
 import lombok.Setter;
 import net.runelite.cache.definitions.AreaDefinition;
@@ -64,6 +77,7 @@ public class MapImageDumper
 	private static final int MAPICON_MAX_WIDTH = 5; // scale minimap icons down to this size so they fit..
 	private static final int MAPICON_MAX_HEIGHT = 6;
 	private static final int BLEND = 5; // number of surrounding tiles for ground blending
+	private static final int TILE_SIZE = Region.X * MAP_SCALE; // one region per tile at the most detailed zoom level
 
 	private static int[] colorPalette = new ColorPalette(0.9d, 0, 512).getColorPalette();
 
@@ -78,6 +92,7 @@ public class MapImageDumper
 	private final Map<Integer, UnderlayDefinition> underlays = new HashMap<>();
 	private final Map<Integer, OverlayDefinition> overlays = new HashMap<>();
 	private final Map<Integer, Image> scaledMapIcons = new HashMap<>();
+	private final ThreadLocal<RenderBuffers> renderBuffers = ThreadLocal.withInitial(RenderBuffers::new);
 
 	private RegionLoader regionLoader;
 	private final AreaManager areas;
@@ -158,16 +173,158 @@ public class MapImageDumper
 		return image;
 	}
 
+	/**
+	 * Draw the map as {@value #TILE_SIZE}x{@value #TILE_SIZE} png tiles, written to
+	 * {@code outDir/<z>/<zoom>/<x>_<y>.png}. Zoom level 0 has one tile per region,
+	 * and each following level is half the scale of the previous one. Regions are
+	 * rendered in parallel on the given executor into per-thread buffers, and tiles
+	 * are written out as they are finished, so memory use does not depend on the
+	 * size of the map. Objects and icons which overhang a region are clipped to it.
+	 *
+	 * @param z plane to draw
+	 * @param outDir directory to write tiles to
+	 * @param zoomLevels number of zoom levels to generate
+	 * @param executor executor to render tiles on
+	 * @throws IOException
+	 */
+	public void drawMapTiles(int z, File outDir, int zoomLevels, ExecutorService executor) throws IOException
+	{
+		int lowestRegionX = regionLoader.getLowestX().getRegionX();
+		int highestRegionY = regionLoader.getHighestY().getRegionY();
+
+		int tilesX = regionLoader.getHighestX().getRegionX() - lowestRegionX + 1;
+		int tilesY = highestRegionY - regionLoader.getLowestY().getRegionY() + 1;
+
+		File baseDir = new File(outDir, z + "/0");
+		baseDir.mkdirs();
+
+		List<Future<?>> futures = new ArrayList<>();
+		for (Region region : regionLoader.getRegions())
+		{
+			futures.add(executor.submit(() ->
+			{
+				BufferedImage tile = renderBuffers.get().clearTile();
+
+				drawMap(tile, 0, 0, z, region);
+				drawObjects(tile, 0, 0, region, z);
+				drawMapIcons(tile, 0, 0, region, z);
+
+				int tileX = region.getRegionX() - lowestRegionX;
+				int tileY = highestRegionY - region.getRegionY();
+				ImageIO.write(tile, "png", new File(baseDir, tileX + "_" + tileY + ".png"));
+				return null;
+			}));
+		}
+		waitFor(futures);
+
+		logger.info("Wrote {} tiles for plane {} zoom level 0", futures.size(), z);
+
+		File zoomDir = baseDir;
+		for (int zoom = 1; zoom < zoomLevels; ++zoom)
+		{
+			final File childDir = zoomDir;
+			zoomDir = new File(outDir, z + "/" + zoom);
+			zoomDir.mkdirs();
+
+			tilesX = (tilesX + 1) / 2;
+			tilesY = (tilesY + 1) / 2;
+
+			final File dir = zoomDir;
+			futures.clear();
+			for (int x = 0; x < tilesX; ++x)
+			{
+				for (int y = 0; y < tilesY; ++y)
+				{
+					final int tileX = x, tileY = y;
+					futures.add(executor.submit(() ->
+					{
+						drawZoomedTile(childDir, dir, tileX, tileY);
+						return null;
+					}));
+				}
+			}
+			waitFor(futures);
+
+			logger.info("Wrote zoom level {} for plane {}", zoom, z);
+		}
+	}
+
+	/**
+	 * Draw a tile by scaling down the (up to) four tiles it covers in the
+	 * previous zoom level
+	 */
+	private void drawZoomedTile(File childDir, File dir, int tileX, int tileY) throws IOException
+	{
+		BufferedImage tile = null;
+		Graphics2D graphics = null;
+
+		for (int dx = 0; dx < 2; ++dx)
+		{
+			for (int dy = 0; dy < 2; ++dy)
+			{
+				File childFile = new File(childDir, (tileX * 2 + dx) + "_" + (tileY * 2 + dy) + ".png");
+				if (!childFile.exists())
+				{
+					continue;
+				}
+
+				if (tile == null)
+				{
+					tile = renderBuffers.get().clearTile();
+					graphics = tile.createGraphics();
+					graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+				}
+
+				BufferedImage child = ImageIO.read(childFile);
+				graphics.drawImage(child, dx * TILE_SIZE / 2, dy * TILE_SIZE / 2, TILE_SIZE / 2, TILE_SIZE / 2, null);
+			}
+		}
+
+		if (tile != null)
+		{
+			graphics.dispose();
+			ImageIO.write(tile, "png", new File(dir, tileX + "_" + tileY + ".png"));
+		}
+	}
+
+	private static void waitFor(List<Future<?>> futures) throws IOException
+	{
+		try
+		{
+			for (Future<?> future : futures)
+			{
+				future.get();
+			}
+		}
+		catch (InterruptedException ex)
+		{
+			futures.forEach(f -> f.cancel(true));
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("interrupted drawing tiles");
+		}
+		catch (ExecutionException ex)
+		{
+			futures.forEach(f -> f.cancel(true));
+			Throwables.throwIfInstanceOf(ex.getCause(), IOException.class);
+			Throwables.throwIfUnchecked(ex.getCause());
+			throw new RuntimeException(ex.getCause());
+		}
+	}
+
 	private void drawMap(BufferedImage image, int drawBaseX, int drawBaseY, int z, Region region)
 	{
-		int[][] map = new int[Region.X * MAP_SCALE][Region.Y * MAP_SCALE];
-		drawMap(map, region, z);
+		RenderBuffers buffers = renderBuffers.get();
+
+		int[][] map = buffers.map;
+		clear(map);
+		drawMap(buffers, map, region, z);
 
 		int[][] above = null;
 		if (z < 3)
 		{
-			above = new int[Region.X * MAP_SCALE][Region.Y * MAP_SCALE];
-			drawMap(above, region, z + 1);
+			above = buffers.above;
+			clear(above);
+			drawMap(buffers, above, region, z + 1);
 		}
 
 		for (int x = 0; x < Region.X; ++x)
@@ -221,17 +378,29 @@ public class MapImageDumper
 		}
 	}
 
-	private void drawMap(int[][] pixels, Region region, int z)
+	private static void clear(int[][] pixels)
+	{
+		for (int[] column : pixels)
+		{
+			Arrays.fill(column, 0);
+		}
+	}
+
+	private void drawMap(RenderBuffers buffers, int[][] pixels, Region region, int z)
 	{
 		int baseX = region.getBaseX();
 		int baseY = region.getBaseY();
 
-		int len = Region.X + BLEND * 2;
-		int[] hues = new int[len];
-		int[] sats = new int[len];
-		int[] light = new int[len];
-		int[] mul = new int[len];
-		int[] num = new int[len];
+		int[] hues = buffers.hues;
+		int[] sats = buffers.sats;
+		int[] light = buffers.light;
+		int[] mul = buffers.mul;
+		int[] num = buffers.num;
+		Arrays.fill(hues, 0);
+		Arrays.fill(sats, 0);
+		Arrays.fill(light, 0);
+		Arrays.fill(mul, 0);
+		Arrays.fill(num, 0);
 
 		boolean hasLeftRegion = regionLoader.findRegionForWorldCoordinates(baseX - 1, baseY) != null;
 		boolean hasRightRegion = regionLoader.findRegionForWorldCoordinates(baseX + Region.X, baseY) != null;
@@ -894,7 +1063,7 @@ public class MapImageDumper
 	private void loadRegions(Store store) throws IOException
 	{
 		regionLoader = new RegionLoader(store);
-		regionLoader.loadRegions();
+		regionLoader.loadRegions(ForkJoinPool.commonPool());
 		regionLoader.calculateBounds();
 
 		logger.info("North most region: {}", regionLoader.getLowestY().getBaseY());
@@ -974,8 +1143,12 @@ public class MapImageDumper
 					BufferedImage spriteImage = new BufferedImage(sprite.getWidth(), sprite.getHeight(), BufferedImage.TYPE_INT_ARGB);
 					spriteImage.setRGB(0, 0, sprite.getWidth(), sprite.getHeight(), sprite.getPixels(), 0, sprite.getWidth());
 
-					// scale image down so it fits
-					Image scaledImage = spriteImage.getScaledInstance(MAPICON_MAX_WIDTH, MAPICON_MAX_HEIGHT, 0);
+					// scale image down so it fits. Draw it to a buffered image so that
+					// it is fully loaded and can be drawn from multiple threads
+					BufferedImage scaledImage = new BufferedImage(MAPICON_MAX_WIDTH, MAPICON_MAX_HEIGHT, BufferedImage.TYPE_INT_ARGB);
+					Graphics2D graphics = scaledImage.createGraphics();
+					graphics.drawImage(spriteImage.getScaledInstance(MAPICON_MAX_WIDTH, MAPICON_MAX_HEIGHT, 0), 0, 0, null);
+					graphics.dispose();
 
 					assert scaledMapIcons.containsKey(sprite.getFrame()) == false;
 					scaledMapIcons.put(sprite.getFrame(), scaledImage);
@@ -984,4 +1157,26 @@ public class MapImageDumper
 		}
 	}
 
+	/**
+	 * Scratch buffers used for drawing a region, one per rendering thread
+	 */
+	private static class RenderBuffers
+	{
+		private final int[][] map = new int[Region.X * MAP_SCALE][Region.Y * MAP_SCALE];
+		private final int[][] above = new int[Region.X * MAP_SCALE][Region.Y * MAP_SCALE];
+
+		private final int[] hues = new int[Region.X + BLEND * 2];
+		private final int[] sats = new int[Region.X + BLEND * 2];
+		private final int[] light = new int[Region.X + BLEND * 2];
+		private final int[] mul = new int[Region.X + BLEND * 2];
+		private final int[] num = new int[Region.X + BLEND * 2];
+
+		private final BufferedImage tile = new BufferedImage(TILE_SIZE, TILE_SIZE, BufferedImage.TYPE_INT_RGB);
+
+		private BufferedImage clearTile()
+		{
+			Arrays.fill(((DataBufferInt) tile.getRaster().getDataBuffer()).getData(), 0);
+			return tile;
+		}
+	}
 }
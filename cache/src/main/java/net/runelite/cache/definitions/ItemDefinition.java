@@ -102,6 +102,60 @@ public class ItemDefinition
 
 	public Map<Integer, Object> params = null;
 
+	/**
+	 * Create a shallow copy of an item definition. The arrays and params are shared.
+	 */
+	public ItemDefinition(ItemDefinition other)
+	{
+		this.id = other.id;
+		this.name = other.name;
+		this.resizeX = other.resizeX;
+		this.resizeY = other.resizeY;
+		this.resizeZ = other.resizeZ;
+		this.xan2d = other.xan2d;
+		this.yan2d = other.yan2d;
+		this.zan2d = other.zan2d;
+		this.cost = other.cost;
+		this.isTradeable = other.isTradeable;
+		this.stackable = other.stackable;
+		this.inventoryModel = other.inventoryModel;
+		this.members = other.members;
+		this.colorFind = other.colorFind;
+		this.colorReplace = other.colorReplace;
+		this.textureFind = other.textureFind;
+		this.textureReplace = other.textureReplace;
+		this.zoom2d = other.zoom2d;
+		this.xOffset2d = other.xOffset2d;
+		this.yOffset2d = other.yOffset2d;
+		this.ambient = other.ambient;
+		this.contrast = other.contrast;
+		this.countCo = other.countCo;
+		this.countObj = other.countObj;
+		this.options = other.options;
+		this.interfaceOptions = other.interfaceOptions;
+		this.maleModel0 = other.maleModel0;
+		this.maleModel1 = other.maleModel1;
+		this.maleModel2 = other.maleModel2;
+		this.maleOffset = other.maleOffset;
+		this.maleHeadModel = other.maleHeadModel;
+		this.maleHeadModel2 = other.maleHeadModel2;
+		this.femaleModel0 = other.femaleModel0;
+		this.femaleModel1 = other.femaleModel1;
+		this.femaleModel2 = other.femaleModel2;
+		this.femaleOffset = other.femaleOffset;
+		this.femaleHeadModel = other.femaleHeadModel;
+		this.femaleHeadModel2 = other.femaleHeadModel2;
+		this.notedID = other.notedID;
+		this.notedTemplate = other.notedTemplate;
+		this.team = other.team;
+		this.shiftClickDropIndex = other.shiftClickDropIndex;
+		this.boughtId = other.boughtId;
+		this.boughtTemplateId = other.boughtTemplateId;
+		this.placeholderId = other.placeholderId;
+		this.placeholderTemplateId = other.placeholderTemplateId;
+		this.params = other.params;
+	}
+
 	public void updateNote(ItemDefinition notedItem, ItemDefinition unnotedItem)
 	{
 		this.inventoryModel = notedItem.inventoryModel;
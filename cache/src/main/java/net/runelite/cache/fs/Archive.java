@@ -103,9 +103,7 @@ public class Archive
 			return null;
 		}
 
-		byte[] encryptedData = data;
-
-		Container container = Container.decompress(encryptedData, keys);
+		Container container = Container.decompress(data, 0, data.length, keys);
 		if (container == null)
 		{
 			logger.warn("Unable to decrypt archive {}", this);
@@ -169,7 +167,13 @@ public class Archive
 
 	public void setNameHash(int nameHash)
 	{
+		int oldHash = this.nameHash;
 		this.nameHash = nameHash;
+
+		if (oldHash != nameHash)
+		{
+			index.updateNameHash(this, oldHash);
+		}
 	}
 
 	public int getCrc()
@@ -27,8 +27,9 @@ package net.runelite.cache.fs;
 import static com.google.common.primitives.Bytes.concat;
 import com.google.common.primitives.Ints;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
 import net.runelite.cache.fs.jagex.CompressionType;
-import net.runelite.cache.io.InputStream;
 import net.runelite.cache.io.OutputStream;
 import net.runelite.cache.util.BZip2;
 import net.runelite.cache.util.Crc32;
@@ -41,6 +42,17 @@ public class Container
 {
 	private static final Logger logger = LoggerFactory.getLogger(Container.class);
 
+	private static final byte[] GZIP_MAGIC = {0x1f, (byte) 0x8b, 8};
+	private static final byte[] BZIP2_BLOCK_MAGIC = {0x31, 0x41, 0x59, 0x26, 0x53, 0x59};
+	private static final byte[] BZIP2_EOS_MAGIC = {0x17, 0x72, 0x45, 0x38, 0x50, (byte) 0x90};
+	/**
+	 * Bytes of payload decrypted to check a key: the decompressed length
+	 * followed by the start of the compressed stream, rounded to whole blocks
+	 */
+	private static final int KEY_CHECK_LENGTH = 16;
+
+	private static final ThreadLocal<byte[]> SCRATCH = ThreadLocal.withInitial(() -> new byte[0]);
+
 	public byte[] data;
 	public int compression; // compression
 	public int revision;
@@ -92,115 +104,188 @@ public class Container
 
 	public static Container decompress(byte[] b, int[] keys) throws IOException
 	{
-		InputStream stream = new InputStream(b);
+		return decompress(b, 0, b.length, keys);
+	}
+
+	/**
+	 * Decompress a container stored in the given slice of {@code b}. The
+	 * input is not modified or copied; encrypted payloads are decrypted in
+	 * place in a buffer reused by the calling thread, and only the
+	 * decompressed data is allocated.
+	 *
+	 * @param b
+	 * @param off offset of the container in {@code b}
+	 * @param len length of the container
+	 * @param keys xtea keys, or null
+	 * @return
+	 * @throws IOException
+	 */
+	public static Container decompress(byte[] b, int off, int len, int[] keys) throws IOException
+	{
+		if (len < 5)
+		{
+			throw new RuntimeException("Invalid data");
+		}
 
-		int compression = stream.readUnsignedByte();
-		int compressedLength = stream.readInt();
+		int compression = b[off] & 0xFF;
+		int compressedLength = Ints.fromBytes(b[off + 1], b[off + 2], b[off + 3], b[off + 4]);
 		if (compressedLength < 0 || compressedLength > 1000000)
 		{
 			throw new RuntimeException("Invalid data");
 		}
 
+		// compressed data is prefixed with the decompressed length
+		int payloadLength = compression == CompressionType.NONE ? compressedLength : compressedLength + 4;
+		int payload = off + 5;
+		if (5 + payloadLength > len)
+		{
+			throw new RuntimeException("Invalid data");
+		}
+
 		Crc32 crc32 = new Crc32();
-		crc32.update(b, 0, 5); // compression + length
+		crc32.update(b, off, 5 + payloadLength); // compression + length + payload
 
-		byte[] data;
 		int revision = -1;
+		if (len - 5 - payloadLength >= 2)
+		{
+			revision = ((b[payload + payloadLength] & 0xFF) << 8) | (b[payload + payloadLength + 1] & 0xFF);
+		}
+
+		byte[] data;
 		switch (compression)
 		{
 			case CompressionType.NONE:
 			{
-				byte[] encryptedData = new byte[compressedLength];
-				stream.readBytes(encryptedData, 0, compressedLength);
-
-				crc32.update(encryptedData, 0, compressedLength);
-				byte[] decryptedData = decrypt(encryptedData, encryptedData.length, keys);
-
-				if (stream.remaining() >= 2)
+				data = Arrays.copyOfRange(b, payload, payload + payloadLength);
+				if (keys != null)
 				{
-					revision = stream.readUnsignedShort();
-					assert revision != -1;
+					new Xtea(keys).decrypt(data, 0, data.length);
 				}
-
-				data = decryptedData;
-
 				break;
 			}
 			case CompressionType.BZ2:
+			case CompressionType.GZ:
 			{
-				byte[] encryptedData = new byte[compressedLength + 4];
-				stream.readBytes(encryptedData);
-
-				crc32.update(encryptedData, 0, encryptedData.length);
-				byte[] decryptedData = decrypt(encryptedData, encryptedData.length, keys);
-
-				if (stream.remaining() >= 2)
+				byte[] in = b;
+				int inOff = payload;
+				if (keys != null)
 				{
-					revision = stream.readUnsignedShort();
-					assert revision != -1;
+					in = scratch(payloadLength);
+					inOff = 0;
+					System.arraycopy(b, payload, in, 0, payloadLength);
+					new Xtea(keys).decrypt(in, 0, payloadLength);
 				}
 
-				stream = new InputStream(decryptedData);
+				int decompressedLength = Ints.fromBytes(in[inOff], in[inOff + 1], in[inOff + 2], in[inOff + 3]);
+				data = compression == CompressionType.BZ2
+					? BZip2.decompress(in, inOff + 4, compressedLength, decompressedLength)
+					: GZip.decompress(in, inOff + 4, compressedLength, decompressedLength);
+				break;
+			}
+			default:
+				throw new RuntimeException("Unknown decompression type");
+		}
 
-				int decompressedLength = stream.readInt();
-				data = BZip2.decompress(stream.getRemaining(), compressedLength);
+		Container container = new Container(compression, revision);
+		container.data = data;
+		container.crc = crc32.getHash();
+		return container;
+	}
 
-				if (data == null)
-				{
-					return null;
-				}
+	/**
+	 * Quickly check whether the given keys could decrypt the container, by
+	 * decrypting only the first blocks of the payload and checking the
+	 * compression header. Containers which are not compressed can not be
+	 * checked and always pass.
+	 *
+	 * @param b
+	 * @param off offset of the container in {@code b}
+	 * @param len length of the container
+	 * @param xtea
+	 * @return false if the keys are definitely wrong
+	 */
+	public static boolean checkKey(byte[] b, int off, int len, Xtea xtea)
+	{
+		int compression = b[off] & 0xFF;
+		if (compression == CompressionType.NONE || len < 5 + KEY_CHECK_LENGTH)
+		{
+			return true;
+		}
 
-				assert data.length == decompressedLength;
+		byte[] block = new byte[KEY_CHECK_LENGTH];
+		xtea.decrypt(b, off + 5, block, 0, KEY_CHECK_LENGTH);
 
-				break;
-			}
-			case CompressionType.GZ:
-			{
-				byte[] encryptedData = new byte[compressedLength + 4];
-				stream.readBytes(encryptedData);
+		if (block[0] < 0) // decompressed length is negative
+		{
+			return false;
+		}
 
-				crc32.update(encryptedData, 0, encryptedData.length);
-				byte[] decryptedData = decrypt(encryptedData, encryptedData.length, keys);
+		if (compression == CompressionType.GZ)
+		{
+			return startsWith(block, 4, GZIP_MAGIC);
+		}
 
-				if (stream.remaining() >= 2)
-				{
-					revision = stream.readUnsignedShort();
-					assert revision != -1;
-				}
+		// an empty bzip2 stream has no blocks
+		return startsWith(block, 4, BZIP2_BLOCK_MAGIC) || startsWith(block, 4, BZIP2_EOS_MAGIC);
+	}
 
-				stream = new InputStream(decryptedData);
+	private static boolean startsWith(byte[] b, int off, byte[] magic)
+	{
+		for (int i = 0; i < magic.length; ++i)
+		{
+			if (b[off + i] != magic[i])
+			{
+				return false;
+			}
+		}
+		return true;
+	}
 
-				int decompressedLength = stream.readInt();
-				data = GZip.decompress(stream.getRemaining(), compressedLength);
+	/**
+	 * Find which of the candidate keys decrypts the container. Candidates
+	 * are first checked with {@link #checkKey(byte[], int, int, Xtea)},
+	 * and only the ones which pass are fully decrypted and decompressed.
+	 *
+	 * @param b
+	 * @param off offset of the container in {@code b}
+	 * @param len length of the container
+	 * @param candidates candidate keys
+	 * @return index of the first candidate which decrypts the container, or -1
+	 */
+	public static int findKey(byte[] b, int off, int len, List<int[]> candidates)
+	{
+		for (int i = 0; i < candidates.size(); ++i)
+		{
+			int[] keys = candidates.get(i);
+			if (!checkKey(b, off, len, new Xtea(keys)))
+			{
+				continue;
+			}
 
-				if (data == null)
+			try
+			{
+				if (decompress(b, off, len, keys) != null)
 				{
-					return null;
+					return i;
 				}
-
-				assert data.length == decompressedLength;
-
-				break;
 			}
-			default:
-				throw new RuntimeException("Unknown decompression type");
+			catch (IOException ex)
+			{
+				logger.trace("candidate key {} failed to decompress", i, ex);
+			}
 		}
-
-		Container container = new Container(compression, revision);
-		container.data = data;
-		container.crc = crc32.getHash();
-		return container;
+		return -1;
 	}
 
-	private static byte[] decrypt(byte[] data, int length, int[] keys)
+	private static byte[] scratch(int size)
 	{
-		if (keys == null)
+		byte[] buffer = SCRATCH.get();
+		if (buffer.length < size)
 		{
-			return data;
+			buffer = new byte[size];
+			SCRATCH.set(buffer);
 		}
-
-		Xtea xtea = new Xtea(keys);
-		return xtea.decrypt(data, length);
+		return buffer;
 	}
 
 	private static byte[] encrypt(byte[] data, int length, int[] keys)
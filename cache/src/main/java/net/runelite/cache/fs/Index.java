@@ -25,7 +25,9 @@
 package net.runelite.cache.fs;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import net.runelite.cache.index.ArchiveData;
 import net.runelite.cache.index.FileData;
@@ -47,6 +49,9 @@ public class Index
 	private int compression; // compression method of this index's data in 255
 
 	private final List<Archive> archives = new ArrayList<>();
+	private final Map<Integer, Archive> archivesById = new HashMap<>();
+	// name hashes are not unique, so each maps to the archives with it in the order they were named
+	private final Map<Integer, List<Archive>> archivesByName = new HashMap<>();
 
 	public Index(int id)
 	{
@@ -154,32 +159,80 @@ public class Index
 	{
 		Archive archive = new Archive(this, id);
 		this.archives.add(archive);
+		archivesById.putIfAbsent(id, archive);
+		addName(archive, archive.getNameHash());
 		return archive;
 	}
 
-	public Archive getArchive(int id)
+	public void removeArchive(Archive archive)
 	{
-		for (Archive a : archives)
+		assert archive.getIndex() == this;
+
+		if (!archives.remove(archive))
 		{
-			if (a.getArchiveId() == id)
-			{
-				return a;
-			}
+			return;
 		}
-		return null;
+
+		if (archivesById.get(archive.getArchiveId()) == archive)
+		{
+			archivesById.remove(archive.getArchiveId());
+			archives.stream()
+				.filter(a -> a.getArchiveId() == archive.getArchiveId())
+				.findFirst()
+				.ifPresent(a -> archivesById.put(a.getArchiveId(), a));
+		}
+
+		removeName(archive, archive.getNameHash());
 	}
 
-	public Archive findArchiveByName(String name)
+	/**
+	 * Called by {@link Archive} when its name hash changes
+	 */
+	void updateNameHash(Archive archive, int oldHash)
 	{
-		int hash = Djb2.hash(name);
-		for (Archive a : archives)
+		removeName(archive, oldHash);
+		addName(archive, archive.getNameHash());
+	}
+
+	private void addName(Archive archive, int nameHash)
+	{
+		archivesByName.computeIfAbsent(nameHash, k -> new ArrayList<>(1)).add(archive);
+	}
+
+	private void removeName(Archive archive, int nameHash)
+	{
+		List<Archive> named = archivesByName.get(nameHash);
+		if (named == null)
 		{
-			if (a.getNameHash() == hash)
+			return;
+		}
+
+		// archives are named right after they are added, so search from the end
+		for (int i = named.size() - 1; i >= 0; --i)
+		{
+			if (named.get(i) == archive)
 			{
-				return a;
+				named.remove(i);
+				break;
 			}
 		}
-		return null;
+
+		if (named.isEmpty())
+		{
+			archivesByName.remove(nameHash);
+		}
+	}
+
+	public Archive getArchive(int id)
+	{
+		return archivesById.get(id);
+	}
+
+	public Archive findArchiveByName(String name)
+	{
+		int hash = Djb2.hash(name);
+		List<Archive> named = archivesByName.get(hash);
+		return named == null ? null : named.get(0);
 	}
 
 	public IndexData toIndexData()
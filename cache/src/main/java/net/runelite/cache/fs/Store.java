@@ -29,7 +29,9 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import net.runelite.cache.IndexType;
 import net.runelite.cache.fs.jagex.DiskStorage;
@@ -42,6 +44,7 @@ public final class Store implements Closeable
 
 	private final Storage storage;
 	private final List<Index> indexes = new ArrayList<>();
+	private final Map<Integer, Index> indexMap = new HashMap<>();
 
 	public Store(File folder) throws IOException
 	{
@@ -96,16 +99,14 @@ public final class Store implements Closeable
 
 	public final Index addIndex(int id) throws FileNotFoundException
 	{
-		for (Index i : indexes)
+		if (indexMap.containsKey(id))
 		{
-			if (i.getId() == id)
-			{
-				throw new IllegalArgumentException("index " + id + " already exists");
-			}
+			throw new IllegalArgumentException("index " + id + " already exists");
 		}
 
 		Index index = new Index(id);
 		this.indexes.add(index);
+		this.indexMap.put(id, index);
 
 		return index;
 	}
@@ -114,6 +115,7 @@ public final class Store implements Closeable
 	{
 		assert indexes.contains(index);
 		indexes.remove(index);
+		indexMap.remove(index.getId());
 	}
 
 	public void load() throws IOException
@@ -138,13 +140,6 @@ public final class Store implements Closeable
 
 	public Index findIndex(int id)
 	{
-		for (Index i : indexes)
-		{
-			if (i.getId() == id)
-			{
-				return i;
-			}
-		}
-		return null;
+		return indexMap.get(id);
 	}
 }
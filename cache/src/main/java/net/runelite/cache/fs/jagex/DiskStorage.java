@@ -49,17 +49,38 @@ public class DiskStorage implements Storage
 	private static final String MAIN_FILE_CACHE_IDX = "main_file_cache.idx";
 
 	private final File folder;
+	private final boolean mapped;
 
 	private final DataFile data;
 	private final IndexFile index255;
 	private final List<IndexFile> indexFiles = new ArrayList<>();
 
 	public DiskStorage(File folder) throws IOException
+	{
+		this(folder, false);
+	}
+
+	/**
+	 * @param folder cache folder
+	 * @param mapped whether to memory map the data and index files. Reads
+	 * from mapped storage are lock free and may be done concurrently.
+	 * @throws IOException
+	 */
+	public DiskStorage(File folder, boolean mapped) throws IOException
 	{
 		this.folder = folder;
+		this.mapped = mapped;
 
-		this.data = new DataFile(new File(folder, MAIN_FILE_CACHE_DAT));
-		this.index255 = new IndexFile(255, new File(folder, MAIN_FILE_CACHE_IDX + "255"));
+		if (mapped)
+		{
+			this.data = new MappedDataFile(new File(folder, MAIN_FILE_CACHE_DAT));
+			this.index255 = new MappedIndexFile(255, new File(folder, MAIN_FILE_CACHE_IDX + "255"));
+		}
+		else
+		{
+			this.data = new DataFile(new File(folder, MAIN_FILE_CACHE_DAT));
+			this.index255 = new IndexFile(255, new File(folder, MAIN_FILE_CACHE_IDX + "255"));
+		}
 	}
 
 	@Override
@@ -95,7 +116,8 @@ public class DiskStorage implements Storage
 			}
 		}
 
-		IndexFile indexFile = new IndexFile(i, new File(folder, MAIN_FILE_CACHE_IDX + i));
+		File file = new File(folder, MAIN_FILE_CACHE_IDX + i);
+		IndexFile indexFile = mapped ? new MappedIndexFile(i, file) : new IndexFile(i, file);
 		indexFiles.add(indexFile);
 		return indexFile;
 	}
@@ -121,7 +143,7 @@ public class DiskStorage implements Storage
 		logger.trace("Loading index {}", index.getId());
 
 		byte[] indexData = readIndex(index.getId());
-		Container res = Container.decompress(indexData, null);
+		Container res = Container.decompress(indexData, 0, indexData.length, null);
 		byte[] data = res.data;
 
 		IndexData id = new IndexData();
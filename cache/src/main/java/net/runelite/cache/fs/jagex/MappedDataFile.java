@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.fs.jagex;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link DataFile} which reads sectors directly out of a memory mapping of
+ * the data file. Reads are lock free and may be performed concurrently, writes
+ * go through {@link DataFile} and cause the file to be remapped on the next read.
+ */
+public class MappedDataFile extends DataFile
+{
+	private static final Logger logger = LoggerFactory.getLogger(MappedDataFile.class);
+
+	private static final int SECTOR_SIZE = 520;
+	/**
+	 * Size of each mapped region. Regions are sector aligned so a sector
+	 * never straddles two mappings.
+	 */
+	private static final long REGION_SIZE = (long) (Integer.MAX_VALUE / SECTOR_SIZE) * SECTOR_SIZE;
+
+	private final File file;
+	private volatile Mapping mapping;
+
+	public MappedDataFile(File file) throws FileNotFoundException
+	{
+		super(file);
+		this.file = file;
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		mapping = null;
+		super.close();
+	}
+
+	@Override
+	public void clear() throws IOException
+	{
+		super.clear();
+		mapping = null;
+	}
+
+	@Override
+	public DataFileWriteResult write(int indexId, int archiveId, byte[] compressedData) throws IOException
+	{
+		DataFileWriteResult res = super.write(indexId, archiveId, compressedData);
+		mapping = null;
+		return res;
+	}
+
+	@Override
+	public byte[] read(int indexId, int archiveId, int sector, int size) throws IOException
+	{
+		Mapping m = getMapping();
+		long sectors = m.length / SECTOR_SIZE;
+
+		if (sector <= 0L || sectors < (long) sector)
+		{
+			logger.warn("bad read, dat length {}, requested sector {}", m.length, sector);
+			return null;
+		}
+
+		byte[] data = new byte[size];
+
+		for (int part = 0, readBytesCount = 0, nextSector;
+			size > readBytesCount;
+			sector = nextSector)
+		{
+			if (sector == 0)
+			{
+				logger.warn("Unexpected end of file");
+				return null;
+			}
+
+			long position = (long) SECTOR_SIZE * sector;
+			int regionIdx = (int) (position / REGION_SIZE);
+			int offset = (int) (position % REGION_SIZE);
+
+			int dataBlockSize = size - readBytesCount;
+			int headerSize = archiveId > 0xFFFF ? 10 : 8;
+			if (dataBlockSize > SECTOR_SIZE - headerSize)
+			{
+				dataBlockSize = SECTOR_SIZE - headerSize;
+			}
+
+			ByteBuffer region = regionIdx < m.regions.length ? m.regions[regionIdx] : null;
+			if (region == null || offset + headerSize + dataBlockSize > region.limit())
+			{
+				logger.warn("Short read when reading file data for {}/{}", indexId, archiveId);
+				return null;
+			}
+
+			int currentIndex;
+			int currentPart;
+			int currentArchive;
+			if (headerSize == 10)
+			{
+				currentArchive = region.getInt(offset);
+				currentPart = region.getShort(offset + 4) & 0xFFFF;
+				nextSector = ((region.get(offset + 6) & 0xFF) << 16)
+					| ((region.get(offset + 7) & 0xFF) << 8)
+					| (region.get(offset + 8) & 0xFF);
+				currentIndex = region.get(offset + 9) & 0xFF;
+			}
+			else
+			{
+				currentArchive = region.getShort(offset) & 0xFFFF;
+				currentPart = region.getShort(offset + 2) & 0xFFFF;
+				nextSector = ((region.get(offset + 4) & 0xFF) << 16)
+					| ((region.get(offset + 5) & 0xFF) << 8)
+					| (region.get(offset + 6) & 0xFF);
+				currentIndex = region.get(offset + 7) & 0xFF;
+			}
+
+			if (archiveId != currentArchive || currentPart != part || indexId != currentIndex)
+			{
+				logger.warn("data mismatch {} != {}, {} != {}, {} != {}",
+					archiveId, currentArchive,
+					part, currentPart,
+					indexId, currentIndex);
+				return null;
+			}
+
+			if (nextSector < 0 || sectors < (long) nextSector)
+			{
+				logger.warn("Invalid next sector");
+				return null;
+			}
+
+			// absolute bulk gets are not available, so read through a private view
+			ByteBuffer view = region.duplicate();
+			view.position(offset + headerSize);
+			view.get(data, readBytesCount, dataBlockSize);
+			readBytesCount += dataBlockSize;
+
+			++part;
+		}
+
+		return data;
+	}
+
+	private Mapping getMapping() throws IOException
+	{
+		Mapping m = mapping;
+		if (m == null)
+		{
+			m = map();
+		}
+		return m;
+	}
+
+	private synchronized Mapping map() throws IOException
+	{
+		Mapping m = mapping;
+		if (m != null)
+		{
+			return m;
+		}
+
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+		{
+			long length = channel.size();
+			int count = (int) ((length + REGION_SIZE - 1) / REGION_SIZE);
+			MappedByteBuffer[] regions = new MappedByteBuffer[Math.max(count, 1)];
+			for (int i = 0; i < regions.length; ++i)
+			{
+				long start = i * REGION_SIZE;
+				regions[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(REGION_SIZE, length - start));
+			}
+
+			logger.debug("Mapped {} bytes of {} in {} region(s)", length, file, regions.length);
+
+			m = new Mapping(regions, length);
+			mapping = m;
+			return m;
+		}
+	}
+
+	private static class Mapping
+	{
+		private final MappedByteBuffer[] regions;
+		private final long length;
+
+		private Mapping(MappedByteBuffer[] regions, long length)
+		{
+			this.regions = regions;
+			this.length = length;
+		}
+	}
+}
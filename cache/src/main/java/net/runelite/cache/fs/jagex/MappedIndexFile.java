@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.fs.jagex;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An {@link IndexFile} which reads entries out of a memory mapping of the
+ * index file, without locking. Writes go through {@link IndexFile} and
+ * cause the file to be remapped on the next read.
+ */
+public class MappedIndexFile extends IndexFile
+{
+	private static final Logger logger = LoggerFactory.getLogger(MappedIndexFile.class);
+
+	private static final int INDEX_ENTRY_LEN = 6;
+
+	private final File file;
+	private volatile MappedByteBuffer mapping;
+
+	public MappedIndexFile(int indexFileId, File file) throws FileNotFoundException
+	{
+		super(indexFileId, file);
+		this.file = file;
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		mapping = null;
+		super.close();
+	}
+
+	@Override
+	public synchronized void clear() throws IOException
+	{
+		super.clear();
+		mapping = null;
+	}
+
+	@Override
+	public synchronized void write(IndexEntry entry) throws IOException
+	{
+		super.write(entry);
+		mapping = null;
+	}
+
+	@Override
+	public IndexEntry read(int id) throws IOException
+	{
+		MappedByteBuffer buffer = getMapping();
+
+		int offset = id * INDEX_ENTRY_LEN;
+		if (id < 0 || offset + INDEX_ENTRY_LEN > buffer.limit())
+		{
+			logger.debug("short read for id {} on index {}", id, getIndexFileId());
+			return null;
+		}
+
+		int length = ((buffer.get(offset) & 0xFF) << 16)
+			| ((buffer.get(offset + 1) & 0xFF) << 8)
+			| (buffer.get(offset + 2) & 0xFF);
+		int sector = ((buffer.get(offset + 3) & 0xFF) << 16)
+			| ((buffer.get(offset + 4) & 0xFF) << 8)
+			| (buffer.get(offset + 5) & 0xFF);
+
+		if (length <= 0 || sector <= 0)
+		{
+			logger.debug("invalid length or sector {}/{}", length, sector);
+			return null;
+		}
+
+		return new IndexEntry(this, id, sector, length);
+	}
+
+	@Override
+	public int getIndexCount() throws IOException
+	{
+		return getMapping().limit() / INDEX_ENTRY_LEN;
+	}
+
+	private MappedByteBuffer getMapping() throws IOException
+	{
+		MappedByteBuffer m = mapping;
+		if (m == null)
+		{
+			m = map();
+		}
+		return m;
+	}
+
+	private synchronized MappedByteBuffer map() throws IOException
+	{
+		MappedByteBuffer m = mapping;
+		if (m != null)
+		{
+			return m;
+		}
+
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+		{
+			m = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			mapping = m;
+			return m;
+		}
+	}
+}
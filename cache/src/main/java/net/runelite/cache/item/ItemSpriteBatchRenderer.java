@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.item;
+
+import com.google.common.base.Throwables;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.imageio.ImageIO;
+import lombok.Value;
+import net.runelite.cache.definitions.TextureDefinition;
+import net.runelite.cache.definitions.providers.ItemProvider;
+import net.runelite.cache.definitions.providers.ModelProvider;
+import net.runelite.cache.definitions.providers.SpriteProvider;
+import net.runelite.cache.definitions.providers.TextureProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Renders batches of item sprites across a pool of workers. Each worker keeps its own
+ * rasterizer, texture provider and model scratch buffers for the whole batch.
+ * <p>
+ * The providers are called from the worker threads, so they must be thread safe, and the
+ * model provider must return a new {@link net.runelite.cache.definitions.ModelDefinition} on
+ * every call as models are modified while being rendered. Item definitions are only read, so
+ * they may be shared.
+ */
+public class ItemSpriteBatchRenderer
+{
+	private static final Logger logger = LoggerFactory.getLogger(ItemSpriteBatchRenderer.class);
+
+	public static final int SPRITE_WIDTH = 36;
+	public static final int SPRITE_HEIGHT = 32;
+	private static final int ATLAS_COLUMNS = 64;
+
+	@Value
+	public static class Request
+	{
+		private final int itemId;
+		private final int quantity;
+		private final int border;
+		private final int shadowColor;
+	}
+
+	@Value
+	public static class Result
+	{
+		private final int requested;
+		private final int rendered;
+		private final int missing;
+		private final int failed;
+		private final int workers;
+		private final long nanos;
+
+		public double getSpritesPerSecond()
+		{
+			return nanos == 0 ? 0 : rendered * 1_000_000_000d / nanos;
+		}
+	}
+
+	@Value
+	private static class AtlasEntry
+	{
+		private final int id;
+		private final int quantity;
+		private final int border;
+		private final int shadowColor;
+		private final int x;
+		private final int y;
+	}
+
+	@FunctionalInterface
+	public interface SpriteConsumer
+	{
+		/**
+		 * Called on a worker thread for each rendered sprite
+		 *
+		 * @param index index of the request in the batch
+		 */
+		void accept(int index, Request request, SpritePixels sprite) throws IOException;
+	}
+
+	private final ItemProvider itemProvider;
+	private final ModelProvider modelProvider;
+	private final SpriteProvider spriteProvider;
+	private final TextureProvider textureProvider;
+
+	public ItemSpriteBatchRenderer(ItemProvider itemProvider, ModelProvider modelProvider,
+		SpriteProvider spriteProvider, TextureProvider textureProvider)
+	{
+		this.itemProvider = itemProvider;
+		this.modelProvider = modelProvider;
+		this.spriteProvider = spriteProvider;
+		this.textureProvider = textureProvider;
+	}
+
+	/**
+	 * Render each request to a png named after the item id, and the quantity if it is not 1
+	 */
+	public Result writePngs(List<Request> requests, File outDir, ExecutorService executor, int workers) throws IOException
+	{
+		outDir.mkdirs();
+
+		return render(requests, executor, workers, (index, request, sprite) ->
+		{
+			String name = request.getQuantity() == 1
+				? Integer.toString(request.getItemId())
+				: request.getItemId() + "_" + request.getQuantity();
+			ImageIO.write(sprite.toBufferedImage(), "png", new File(outDir, name + ".png"));
+		});
+	}
+
+	/**
+	 * Render the requests into a single atlas image, with request n in cell n, and write a json
+	 * index of the location of each rendered sprite. Items which could not be rendered are left
+	 * out of the index.
+	 */
+	public Result writeAtlas(List<Request> requests, File atlasFile, File indexFile, ExecutorService executor, int workers) throws IOException
+	{
+		int columns = Math.max(1, Math.min(ATLAS_COLUMNS, requests.size()));
+		int rows = Math.max(1, (requests.size() + columns - 1) / columns);
+		int atlasWidth = columns * SPRITE_WIDTH;
+
+		BufferedImage atlas = new BufferedImage(atlasWidth, rows * SPRITE_HEIGHT, BufferedImage.TYPE_INT_ARGB);
+		// each worker writes only into its own cells; the writes are visible after the batch completes
+		int[] atlasPixels = ((DataBufferInt) atlas.getRaster().getDataBuffer()).getData();
+		AtlasEntry[] entries = new AtlasEntry[requests.size()];
+
+		Result result = render(requests, executor, workers, (index, request, sprite) ->
+		{
+			int x = (index % columns) * SPRITE_WIDTH;
+			int y = (index / columns) * SPRITE_HEIGHT;
+			int width = Math.min(sprite.width, SPRITE_WIDTH);
+			int height = Math.min(sprite.height, SPRITE_HEIGHT);
+
+			for (int py = 0; py < height; ++py)
+			{
+				int src = py * sprite.width;
+				int dst = (y + py) * atlasWidth + x;
+				for (int px = 0; px < width; ++px)
+				{
+					int pixel = sprite.pixels[src + px];
+					atlasPixels[dst + px] = pixel != 0 ? pixel | 0xff000000 : 0;
+				}
+			}
+
+			entries[index] = new AtlasEntry(request.getItemId(), request.getQuantity(), request.getBorder(),
+				request.getShadowColor(), x, y);
+		});
+
+		ImageIO.write(atlas, "png", atlasFile);
+
+		List<AtlasEntry> index = new ArrayList<>(result.getRendered());
+		for (AtlasEntry entry : entries)
+		{
+			if (entry != null)
+			{
+				index.add(entry);
+			}
+		}
+
+		Gson gson = new GsonBuilder().setPrettyPrinting().create();
+		try (Writer writer = new FileWriter(indexFile))
+		{
+			gson.toJson(index, writer);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Render the requests on {@code workers} tasks submitted to the executor, passing each
+	 * rendered sprite to the consumer
+	 */
+	public Result render(List<Request> requests, ExecutorService executor, int workers, SpriteConsumer consumer) throws IOException
+	{
+		long start = System.nanoTime();
+
+		loadTextures();
+
+		workers = Math.max(1, Math.min(workers, requests.size()));
+
+		AtomicInteger next = new AtomicInteger();
+		AtomicInteger rendered = new AtomicInteger();
+		AtomicInteger missing = new AtomicInteger();
+		AtomicInteger failed = new AtomicInteger();
+
+		List<Future<?>> futures = new ArrayList<>(workers);
+		for (int i = 0; i < workers; ++i)
+		{
+			futures.add(executor.submit(() ->
+			{
+				Graphics3D graphics = ItemSpriteFactory.createGraphics(textureProvider, spriteProvider);
+				ModelScratch scratch = new ModelScratch();
+
+				int index;
+				while ((index = next.getAndIncrement()) < requests.size())
+				{
+					Request request = requests.get(index);
+					try
+					{
+						SpritePixels sprite = ItemSpriteFactory.createSpritePixels(itemProvider, modelProvider, graphics, scratch,
+							request.getItemId(), request.getQuantity(), request.getBorder(), request.getShadowColor(), false);
+						if (sprite == null)
+						{
+							missing.incrementAndGet();
+							continue;
+						}
+
+						consumer.accept(index, request, sprite);
+						rendered.incrementAndGet();
+					}
+					catch (IOException | RuntimeException ex)
+					{
+						logger.warn("error rendering item {}", request.getItemId(), ex);
+						failed.incrementAndGet();
+					}
+				}
+				return null;
+			}));
+		}
+
+		waitFor(futures);
+
+		Result result = new Result(requests.size(), rendered.get(), missing.get(), failed.get(), workers, System.nanoTime() - start);
+		logger.info("Rendered {} item sprites ({} missing, {} failed) in {}ms on {} workers, {} sprites/s",
+			result.getRendered(), result.getMissing(), result.getFailed(), result.getNanos() / 1_000_000L,
+			result.getWorkers(), (int) result.getSpritesPerSecond());
+		return result;
+	}
+
+	/**
+	 * Generate the pixels of every texture up front. They are cached on the shared texture
+	 * definitions, so the workers only ever read them.
+	 */
+	private void loadTextures()
+	{
+		RSTextureProvider rsTextureProvider = new RSTextureProvider(textureProvider, spriteProvider);
+		for (TextureDefinition texture : textureProvider.provide())
+		{
+			rsTextureProvider.load(texture.getId());
+		}
+	}
+
+	private static void waitFor(List<Future<?>> futures) throws IOException
+	{
+		try
+		{
+			for (Future<?> future : futures)
+			{
+				future.get();
+			}
+		}
+		catch (InterruptedException ex)
+		{
+			futures.forEach(f -> f.cancel(true));
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("interrupted rendering item sprites");
+		}
+		catch (ExecutionException ex)
+		{
+			futures.forEach(f -> f.cancel(true));
+			Throwables.throwIfInstanceOf(ex.getCause(), IOException.class);
+			Throwables.throwIfUnchecked(ex.getCause());
+			throw new RuntimeException(ex.getCause());
+		}
+	}
+}
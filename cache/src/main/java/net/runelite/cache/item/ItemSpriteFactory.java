@@ -42,13 +42,25 @@ public class ItemSpriteFactory
 		int itemId, int quantity, int border, int shadowColor,
 		boolean noted) throws IOException
 	{
-		SpritePixels spritePixels = createSpritePixels(itemProvider, modelProvider, spriteProvider, textureProvider,
-			itemId, quantity, border, shadowColor, noted);
+		SpritePixels spritePixels = createSpritePixels(itemProvider, modelProvider, createGraphics(textureProvider, spriteProvider),
+			new ModelScratch(), itemId, quantity, border, shadowColor, noted);
 		return spritePixels == null ? null : spritePixels.toBufferedImage();
 	}
 
-	private static final SpritePixels createSpritePixels(ItemProvider itemProvider, ModelProvider modelProvider,
-		SpriteProvider spriteProvider, TextureProvider textureProvider,
+	/**
+	 * Create the rasterizer used to render item sprites. It may be reused for any number of
+	 * sprites rendered on one thread.
+	 */
+	static Graphics3D createGraphics(TextureProvider textureProvider, SpriteProvider spriteProvider)
+	{
+		RSTextureProvider rsTextureProvider = new RSTextureProvider(textureProvider, spriteProvider);
+		Graphics3D graphics = new Graphics3D(rsTextureProvider);
+		graphics.setBrightness(0.6d);
+		return graphics;
+	}
+
+	static final SpritePixels createSpritePixels(ItemProvider itemProvider, ModelProvider modelProvider,
+		Graphics3D graphics, ModelScratch scratch,
 		int itemId, int quantity, int border, int shadowColor,
 		boolean noted) throws IOException
 	{
@@ -74,6 +86,8 @@ public class ItemSpriteFactory
 
 		if (item.notedTemplate != -1)
 		{
+			// the provided definition may be shared with other threads, so apply the note to a copy
+			item = new ItemDefinition(item);
 			item.updateNote(itemProvider.provide(item.notedTemplate), itemProvider.provide(item.notedID));
 		}
 
@@ -86,7 +100,7 @@ public class ItemSpriteFactory
 		SpritePixels auxSpritePixels = null;
 		if (item.notedTemplate != -1)
 		{
-			auxSpritePixels = createSpritePixels(itemProvider, modelProvider, spriteProvider, textureProvider,
+			auxSpritePixels = createSpritePixels(itemProvider, modelProvider, graphics, scratch,
 				item.notedID, 10, 1, 0, true);
 			if (auxSpritePixels == null)
 			{
@@ -95,7 +109,7 @@ public class ItemSpriteFactory
 		}
 		else if (item.boughtTemplateId != -1)
 		{
-			auxSpritePixels = createSpritePixels(itemProvider, modelProvider, spriteProvider, textureProvider,
+			auxSpritePixels = createSpritePixels(itemProvider, modelProvider, graphics, scratch,
 				item.boughtId, quantity, border, shadowColor, false);
 			if (auxSpritePixels == null)
 			{
@@ -104,7 +118,7 @@ public class ItemSpriteFactory
 		}
 		else if (item.placeholderTemplateId != -1)
 		{
-			auxSpritePixels = createSpritePixels(itemProvider, modelProvider, spriteProvider, textureProvider,
+			auxSpritePixels = createSpritePixels(itemProvider, modelProvider, graphics, scratch,
 				item.placeholderId, quantity, 0, 0, false);
 			if (auxSpritePixels == null)
 			{
@@ -112,11 +126,7 @@ public class ItemSpriteFactory
 			}
 		}
 
-		RSTextureProvider rsTextureProvider = new RSTextureProvider(textureProvider, spriteProvider);
-
 		SpritePixels spritePixels = new SpritePixels(36, 32);
-		Graphics3D graphics = new Graphics3D(rsTextureProvider);
-		graphics.setBrightness(0.6d);
 		graphics.setRasterBuffer(spritePixels.pixels, 36, 32);
 		graphics.reset();
 		graphics.setRasterClipping();
@@ -140,6 +150,7 @@ public class ItemSpriteFactory
 		int var17 = zoom2d * Graphics3D.SINE[item.xan2d] >> 16;
 		int var18 = zoom2d * Graphics3D.COSINE[item.xan2d] >> 16;
 
+		itemModel.setScratch(scratch);
 		itemModel.calculateBoundsCylinder();
 		itemModel.rotateAndProject(graphics, 0,
 			item.yan2d,
@@ -26,24 +26,25 @@ package net.runelite.cache.item;
 
 class Model extends Renderable
 {
-	boolean[] field1887 = new boolean[4700];
-	boolean[] field1885 = new boolean[4700];
-	int[] modelViewportYs = new int[4700];
-	int[] modelViewportXs = new int[4700];
-	int[] modelViewportZs = new int[4700];
-	int[] yViewportBuffer = new int[4700];
-	int[] field1839 = new int[4700];
-	int[] field1869 = new int[4700];
-	int[] field1871 = new int[1600];
-	int[][] field1868 = new int[1600][512];
-	int[] field1872 = new int[12];
-	int[][] field1874 = new int[12][2000];
-	int[] field1857 = new int[2000];
-	int[] field1863 = new int[2000];
-	int[] field1877 = new int[12];
-	int[] field1831 = new int[10];
-	int[] field1837 = new int[10];
-	int[] xViewportBuffer = new int[10];
+	// scratch buffers, shared by models rendered on the same thread
+	boolean[] field1887;
+	boolean[] field1885;
+	int[] modelViewportYs;
+	int[] modelViewportXs;
+	int[] modelViewportZs;
+	int[] yViewportBuffer;
+	int[] field1839;
+	int[] field1869;
+	int[] field1871;
+	int[][] field1868;
+	int[] field1872;
+	int[][] field1874;
+	int[] field1857;
+	int[] field1863;
+	int[] field1877;
+	int[] field1831;
+	int[] field1837;
+	int[] xViewportBuffer;
 	static int[] Model_sine;
 	static int[] Model_cosine;
 	static int[] field1890;
@@ -96,6 +97,32 @@ class Model extends Renderable
 		this.extremeZ = -1;
 	}
 
+	/**
+	 * Use the given scratch buffers for projection and rasterization. Scratch buffers can be
+	 * shared by any number of models, as long as they are not rendered concurrently.
+	 */
+	void setScratch(ModelScratch scratch)
+	{
+		this.field1887 = scratch.field1887;
+		this.field1885 = scratch.field1885;
+		this.modelViewportYs = scratch.modelViewportYs;
+		this.modelViewportXs = scratch.modelViewportXs;
+		this.modelViewportZs = scratch.modelViewportZs;
+		this.yViewportBuffer = scratch.yViewportBuffer;
+		this.field1839 = scratch.field1839;
+		this.field1869 = scratch.field1869;
+		this.field1871 = scratch.field1871;
+		this.field1868 = scratch.field1868;
+		this.field1872 = scratch.field1872;
+		this.field1874 = scratch.field1874;
+		this.field1857 = scratch.field1857;
+		this.field1863 = scratch.field1863;
+		this.field1877 = scratch.field1877;
+		this.field1831 = scratch.field1831;
+		this.field1837 = scratch.field1837;
+		this.xViewportBuffer = scratch.xViewportBuffer;
+	}
+
 	public void calculateBoundsCylinder()
 	{
 		if (this.boundsType != 1)
@@ -135,6 +162,11 @@ class Model extends Renderable
 
 	public final void rotateAndProject(Graphics3D graphics, int rotation_1, int yRotation, int zRotation, int xRotation, int xOffset, int yOffset, int zOffset)
 	{
+		if (field1871 == null)
+		{
+			setScratch(new ModelScratch());
+		}
+
 		field1871[0] = -1;
 		// (re?)Calculate magnitude as necessary
 		if (this.boundsType != 2 && this.boundsType != 1)
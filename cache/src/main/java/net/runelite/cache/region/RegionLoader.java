@@ -24,19 +24,28 @@
  */
 package net.runelite.cache.region;
 
+import com.google.common.base.Throwables;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import net.runelite.cache.IndexType;
 import net.runelite.cache.definitions.LocationsDefinition;
 import net.runelite.cache.definitions.MapDefinition;
 import net.runelite.cache.definitions.loaders.LocationsLoader;
 import net.runelite.cache.definitions.loaders.MapLoader;
 import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.Container;
 import net.runelite.cache.fs.Index;
 import net.runelite.cache.fs.Storage;
 import net.runelite.cache.fs.Store;
+import net.runelite.cache.util.Xtea;
 import net.runelite.cache.util.XteaKeyManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -46,12 +55,13 @@ public class RegionLoader
 	private static final Logger logger = LoggerFactory.getLogger(RegionLoader.class);
 
 	private static final int MAX_REGION = 32768;
+	private static final int REGIONS_PER_X = 256;
 
 	private final Store store;
 	private final Index index;
 	private final XteaKeyManager keyManager;
 
-	private final Map<Integer, Region> regions = new HashMap<>();
+	private final Map<Integer, Region> regions = new ConcurrentHashMap<>();
 	private Region lowestX = null, lowestY = null;
 	private Region highestX = null, highestY = null;
 
@@ -75,6 +85,59 @@ public class RegionLoader
 		}
 	}
 
+	/**
+	 * Load all regions, decoding them in parallel on the given executor.
+	 * Each task loads one column of regions. The storage must support
+	 * concurrent reads.
+	 *
+	 * @param executor executor to decode regions on
+	 * @throws IOException
+	 */
+	public void loadRegions(ExecutorService executor) throws IOException
+	{
+		List<Future<?>> futures = new ArrayList<>();
+		for (int x = 0; x < MAX_REGION / REGIONS_PER_X; ++x)
+		{
+			final int regionX = x;
+			futures.add(executor.submit(() ->
+			{
+				for (int y = 0; y < REGIONS_PER_X; ++y)
+				{
+					int i = (regionX << 8) | y;
+					Region region = loadRegionFromArchive(i);
+					if (region != null)
+					{
+						regions.put(i, region);
+					}
+				}
+				return null;
+			}));
+		}
+
+		try
+		{
+			for (Future<?> future : futures)
+			{
+				future.get();
+			}
+		}
+		catch (InterruptedException ex)
+		{
+			futures.forEach(f -> f.cancel(true));
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("interrupted loading regions");
+		}
+		catch (ExecutionException ex)
+		{
+			futures.forEach(f -> f.cancel(true));
+			Throwables.throwIfInstanceOf(ex.getCause(), IOException.class);
+			Throwables.throwIfUnchecked(ex.getCause());
+			throw new RuntimeException(ex.getCause());
+		}
+
+		logger.debug("Loaded {} regions", regions.size());
+	}
+
 	public Region loadRegionFromArchive(int i) throws IOException
 	{
 		int x = i >> 8;
@@ -101,9 +164,17 @@ public class RegionLoader
 		int[] keys = keyManager.getKeys(i);
 		if (keys != null)
 		{
+			byte[] landData = storage.loadArchive(land);
+			if (landData != null && !Container.checkKey(landData, 0, landData.length, new Xtea(keys)))
+			{
+				// keys are often stale, skip fully decrypting the archive
+				logger.debug("Invalid keys for region {}", i);
+				return region;
+			}
+
 			try
 			{
-				data = land.decompress(storage.loadArchive(land), keys);
+				data = land.decompress(landData, keys);
 				LocationsDefinition locDef = new LocationsLoader().load(x, y, data);
 				region.loadLocations(locDef);
 			}
@@ -116,26 +187,36 @@ public class RegionLoader
 		return region;
 	}
 
+	/**
+	 * Calculate the bounding regions. Ties are broken by the lowest region id
+	 * so the result does not depend on the order regions were loaded in.
+	 */
 	public void calculateBounds()
 	{
+		lowestX = lowestY = highestX = highestY = null;
+
 		for (Region region : regions.values())
 		{
-			if (lowestX == null || region.getBaseX() < lowestX.getBaseX())
+			if (lowestX == null || region.getBaseX() < lowestX.getBaseX()
+				|| (region.getBaseX() == lowestX.getBaseX() && region.getRegionID() < lowestX.getRegionID()))
 			{
 				lowestX = region;
 			}
 
-			if (highestX == null || region.getBaseX() > highestX.getBaseX())
+			if (highestX == null || region.getBaseX() > highestX.getBaseX()
+				|| (region.getBaseX() == highestX.getBaseX() && region.getRegionID() < highestX.getRegionID()))
 			{
 				highestX = region;
 			}
 
-			if (lowestY == null || region.getBaseY() < lowestY.getBaseY())
+			if (lowestY == null || region.getBaseY() < lowestY.getBaseY()
+				|| (region.getBaseY() == lowestY.getBaseY() && region.getRegionID() < lowestY.getRegionID()))
 			{
 				lowestY = region;
 			}
 
-			if (highestY == null || region.getBaseY() > highestY.getBaseY())
+			if (highestY == null || region.getBaseY() > highestY.getBaseY()
+				|| (region.getBaseY() == highestY.getBaseY() && region.getRegionID() < highestY.getRegionID()))
 			{
 				highestY = region;
 			}
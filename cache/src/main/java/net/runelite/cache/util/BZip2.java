@@ -29,6 +29,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.SequenceInputStream;
 import java.util.Arrays;
 import org.apache.commons.compress.compressors.bzip2.BZip2CompressorInputStream;
 import org.apache.commons.compress.compressors.bzip2.BZip2CompressorOutputStream;
@@ -83,4 +84,53 @@ public class BZip2
 
 		return os.toByteArray();
 	}
+
+	/**
+	 * Decompress headerless bzip2 data of a known decompressed length
+	 * directly into the returned array, without copying the input.
+	 *
+	 * @param bytes
+	 * @param off offset of the compressed data
+	 * @param len length of the compressed data
+	 * @param decompressedLength expected length of the decompressed data
+	 * @return
+	 * @throws IOException
+	 */
+	public static byte[] decompress(byte[] bytes, int off, int len, int decompressedLength) throws IOException
+	{
+		if (decompressedLength < 0)
+		{
+			throw new IOException("Invalid decompressed length " + decompressedLength);
+		}
+
+		InputStream in = new SequenceInputStream(new ByteArrayInputStream(BZIP_HEADER), new ByteArrayInputStream(bytes, off, len));
+		try (InputStream is = new BZip2CompressorInputStream(in))
+		{
+			// the stream validates the first block header, so allocate after opening it
+			byte[] out = DecompressBuffer.allocate(len, decompressedLength);
+			int read = 0;
+			while (read < decompressedLength)
+			{
+				if (read == out.length)
+				{
+					out = DecompressBuffer.grow(out, decompressedLength);
+				}
+
+				int i = is.read(out, read, out.length - read);
+				if (i == -1)
+				{
+					throw new IOException("Short decompress, expected " + decompressedLength + " got " + read);
+				}
+				read += i;
+			}
+
+			// reading to the end of the stream checks its crc
+			if (is.read() != -1)
+			{
+				throw new IOException("Long decompress, expected " + decompressedLength);
+			}
+
+			return out;
+		}
+	}
 }
@@ -30,8 +30,11 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
 import org.apache.commons.compress.utils.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,6 +43,13 @@ public class GZip
 {
 	private static final Logger logger = LoggerFactory.getLogger(GZip.class);
 
+	private static final int FHCRC = 2;
+	private static final int FEXTRA = 4;
+	private static final int FNAME = 8;
+	private static final int FCOMMENT = 16;
+
+	private static final ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(() -> new Inflater(true));
+
 	public static byte[] compress(byte[] bytes) throws IOException
 	{
 		InputStream is = new ByteArrayInputStream(bytes);
@@ -64,4 +74,134 @@ public class GZip
 
 		return os.toByteArray();
 	}
+
+	/**
+	 * Decompress gzip data of a known decompressed length directly into
+	 * the returned array, using an inflater reused by the calling thread.
+	 *
+	 * @param bytes
+	 * @param off offset of the gzip data
+	 * @param len length of the gzip data
+	 * @param decompressedLength expected length of the decompressed data
+	 * @return
+	 * @throws IOException
+	 */
+	public static byte[] decompress(byte[] bytes, int off, int len, int decompressedLength) throws IOException
+	{
+		if (decompressedLength < 0)
+		{
+			throw new IOException("Invalid decompressed length " + decompressedLength);
+		}
+
+		int pos = skipHeader(bytes, off, len);
+		int end = off + len;
+
+		Inflater inflater = INFLATER.get();
+		inflater.reset();
+		inflater.setInput(bytes, pos, end - pos);
+
+		byte[] out = DecompressBuffer.allocate(len, decompressedLength);
+		int read = 0;
+		try
+		{
+			while (read < decompressedLength)
+			{
+				if (read == out.length)
+				{
+					out = DecompressBuffer.grow(out, decompressedLength);
+				}
+
+				int i = inflater.inflate(out, read, out.length - read);
+				if (i == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary()))
+				{
+					break;
+				}
+				read += i;
+			}
+
+			if (read == decompressedLength && !inflater.finished() && inflater.inflate(new byte[1]) != 0)
+			{
+				throw new IOException("Long inflate, expected " + decompressedLength);
+			}
+		}
+		catch (DataFormatException ex)
+		{
+			throw new IOException(ex);
+		}
+
+		if (read != decompressedLength)
+		{
+			throw new IOException("Short inflate, expected " + decompressedLength + " got " + read);
+		}
+
+		if (!inflater.finished())
+		{
+			throw new IOException("Truncated gzip data");
+		}
+
+		// check the trailer, as GZIPInputStream does
+		int trailer = end - inflater.getRemaining();
+		if (trailer + 8 > end)
+		{
+			throw new IOException("Truncated gzip trailer");
+		}
+
+		CRC32 crc = new CRC32();
+		crc.update(out, 0, read);
+		if (readIntLE(bytes, trailer) != (int) crc.getValue() || readIntLE(bytes, trailer + 4) != decompressedLength)
+		{
+			throw new IOException("Corrupt gzip trailer");
+		}
+
+		return out;
+	}
+
+	private static int readIntLE(byte[] bytes, int pos)
+	{
+		return (bytes[pos] & 0xFF) | (bytes[pos + 1] & 0xFF) << 8 | (bytes[pos + 2] & 0xFF) << 16 | (bytes[pos + 3] & 0xFF) << 24;
+	}
+
+	private static int skipHeader(byte[] bytes, int off, int len) throws IOException
+	{
+		int end = off + len;
+		if (len < 10 || (bytes[off] & 0xFF) != 0x1f || (bytes[off + 1] & 0xFF) != 0x8b || bytes[off + 2] != 8)
+		{
+			throw new IOException("Not in gzip format");
+		}
+
+		int flags = bytes[off + 3] & 0xFF;
+		int pos = off + 10; // magic, method, flags, mtime, xfl, os
+
+		if ((flags & FEXTRA) != 0)
+		{
+			if (pos + 2 > end)
+			{
+				throw new IOException("Truncated gzip header");
+			}
+			pos += 2 + ((bytes[pos] & 0xFF) | ((bytes[pos + 1] & 0xFF) << 8));
+		}
+		if ((flags & FNAME) != 0)
+		{
+			while (pos < end && bytes[pos++] != 0)
+			{
+			}
+		}
+		if ((flags & FCOMMENT) != 0)
+		{
+			while (pos < end && bytes[pos++] != 0)
+			{
+			}
+		}
+		if ((flags & FHCRC) != 0)
+		{
+			pos += 2;
+		}
+
+		if (pos > end)
+		{
+			throw new IOException("Truncated gzip header");
+		}
+
+		return pos;
+	}
 }
@@ -24,8 +24,8 @@
  */
 package net.runelite.cache.util;
 
-import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 
 public class Xtea
 {
@@ -35,54 +35,154 @@ public class Xtea
 
 	private final int[] key;
 
+	/*
+	 * Key schedule. Each round adds (sum + key word) for the first and second
+	 * half of the block, which only depends on the key, so compute it once.
+	 */
+	private final int[] schedule0 = new int[ROUNDS];
+	private final int[] schedule1 = new int[ROUNDS];
+
 	public Xtea(int[] key)
 	{
 		this.key = key;
+
+		int sum = 0;
+		for (int i = 0; i < ROUNDS; ++i)
+		{
+			schedule0[i] = sum + key[sum & 3];
+			sum += GOLDEN_RATIO;
+			schedule1[i] = sum + key[(sum >>> 11) & 3];
+		}
+	}
+
+	public int[] getKey()
+	{
+		return key;
 	}
 
 	public byte[] encrypt(byte[] data, int len)
 	{
-		ByteBuf buf = Unpooled.wrappedBuffer(data, 0, len);
-		ByteBuf out = Unpooled.buffer(len);
+		byte[] out = Arrays.copyOf(data, len);
+		encrypt(out, 0, len);
+		return out;
+	}
+
+	public byte[] decrypt(byte[] data, int len)
+	{
+		byte[] out = Arrays.copyOf(data, len);
+		decrypt(out, 0, len);
+		return out;
+	}
+
+	/**
+	 * Encrypt the given range of data in place. Trailing bytes which
+	 * do not make up a full block are left as is.
+	 *
+	 * @param data
+	 * @param off offset to start encrypting at
+	 * @param len number of bytes to encrypt
+	 */
+	public void encrypt(byte[] data, int off, int len)
+	{
 		int numBlocks = len / 8;
-		for (int block = 0; block < numBlocks; ++block)
+		for (int block = 0, pos = off; block < numBlocks; ++block, pos += 8)
 		{
-			int v0 = buf.readInt();
-			int v1 = buf.readInt();
-			int sum = 0;
+			int v0 = getInt(data, pos);
+			int v1 = getInt(data, pos + 4);
 			for (int i = 0; i < ROUNDS; ++i)
 			{
-				v0 += (((v1 << 4) ^ (v1 >>> 5)) + v1) ^ (sum + key[sum & 3]);
-				sum += GOLDEN_RATIO;
-				v1 += (((v0 << 4) ^ (v0 >>> 5)) + v0) ^ (sum + key[(sum >>> 11) & 3]);
+				v0 += (((v1 << 4) ^ (v1 >>> 5)) + v1) ^ schedule0[i];
+				v1 += (((v0 << 4) ^ (v0 >>> 5)) + v0) ^ schedule1[i];
 			}
-			out.writeInt(v0);
-			out.writeInt(v1);
+			putInt(data, pos, v0);
+			putInt(data, pos + 4, v1);
 		}
-		out.writeBytes(buf);
-		return out.array();
 	}
 
-	public byte[] decrypt(byte[] data, int len)
+	/**
+	 * Decrypt the given range of data in place. Trailing bytes which
+	 * do not make up a full block are left as is.
+	 *
+	 * @param data
+	 * @param off offset to start decrypting at
+	 * @param len number of bytes to decrypt
+	 */
+	public void decrypt(byte[] data, int off, int len)
+	{
+		decrypt(data, off, data, off, len);
+	}
+
+	/**
+	 * Decrypt the full blocks of {@code src} into {@code dst}, which may be
+	 * the same array. Trailing bytes which do not make up a full block are
+	 * not copied.
+	 *
+	 * @param src
+	 * @param srcOff
+	 * @param dst
+	 * @param dstOff
+	 * @param len number of bytes to decrypt
+	 */
+	public void decrypt(byte[] src, int srcOff, byte[] dst, int dstOff, int len)
 	{
-		ByteBuf buf = Unpooled.wrappedBuffer(data, 0, len);
-		ByteBuf out = Unpooled.buffer(len);
 		int numBlocks = len / 8;
-		for (int block = 0; block < numBlocks; ++block)
+		for (int block = 0; block < numBlocks; ++block, srcOff += 8, dstOff += 8)
 		{
-			int v0 = buf.readInt();
-			int v1 = buf.readInt();
-			int sum = GOLDEN_RATIO * ROUNDS;
-			for (int i = 0; i < ROUNDS; ++i)
+			int v0 = getInt(src, srcOff);
+			int v1 = getInt(src, srcOff + 4);
+			for (int i = ROUNDS - 1; i >= 0; --i)
 			{
-				v1 -= (((v0 << 4) ^ (v0 >>> 5)) + v0) ^ (sum + key[(sum >>> 11) & 3]);
-				sum -= GOLDEN_RATIO;
-				v0 -= (((v1 << 4) ^ (v1 >>> 5)) + v1) ^ (sum + key[sum & 3]);
+				v1 -= (((v0 << 4) ^ (v0 >>> 5)) + v0) ^ schedule1[i];
+				v0 -= (((v1 << 4) ^ (v1 >>> 5)) + v1) ^ schedule0[i];
 			}
-			out.writeInt(v0);
-			out.writeInt(v1);
+			putInt(dst, dstOff, v0);
+			putInt(dst, dstOff + 4, v1);
 		}
-		out.writeBytes(buf);
-		return out.array();
+	}
+
+	/**
+	 * Decrypt the remaining data in the buffer in place, without changing
+	 * its position. Trailing bytes which do not make up a full block are
+	 * left as is.
+	 *
+	 * @param buffer
+	 */
+	public void decrypt(ByteBuffer buffer)
+	{
+		if (buffer.hasArray())
+		{
+			decrypt(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+			return;
+		}
+
+		int numBlocks = buffer.remaining() / 8;
+		for (int block = 0, pos = buffer.position(); block < numBlocks; ++block, pos += 8)
+		{
+			int v0 = buffer.getInt(pos);
+			int v1 = buffer.getInt(pos + 4);
+			for (int i = ROUNDS - 1; i >= 0; --i)
+			{
+				v1 -= (((v0 << 4) ^ (v0 >>> 5)) + v0) ^ schedule1[i];
+				v0 -= (((v1 << 4) ^ (v1 >>> 5)) + v1) ^ schedule0[i];
+			}
+			buffer.putInt(pos, v0);
+			buffer.putInt(pos + 4, v1);
+		}
+	}
+
+	private static int getInt(byte[] data, int pos)
+	{
+		return ((data[pos] & 0xFF) << 24)
+			| ((data[pos + 1] & 0xFF) << 16)
+			| ((data[pos + 2] & 0xFF) << 8)
+			| (data[pos + 3] & 0xFF);
+	}
+
+	private static void putInt(byte[] data, int pos, int value)
+	{
+		data[pos] = (byte) (value >> 24);
+		data[pos + 1] = (byte) (value >> 16);
+		data[pos + 2] = (byte) (value >> 8);
+		data[pos + 3] = (byte) value;
 	}
 }
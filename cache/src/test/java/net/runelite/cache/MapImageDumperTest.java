@@ -27,6 +27,7 @@ package net.runelite.cache;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
 import javax.imageio.ImageIO;
 import net.runelite.cache.fs.Store;
 import net.runelite.cache.region.Region;
@@ -71,6 +72,28 @@ public class MapImageDumperTest
 		}
 	}
 
+	@Test
+	@Ignore
+	public void dumpMapTiles() throws IOException
+	{
+		File base = StoreLocation.LOCATION,
+			outDir = folder.newFolder();
+
+		try (Store store = new Store(base))
+		{
+			store.load();
+
+			MapImageDumper dumper = new MapImageDumper(store);
+			dumper.load();
+
+			for (int i = 0; i < Region.Z; ++i)
+			{
+				dumper.drawMapTiles(i, outDir, 4, ForkJoinPool.commonPool());
+				logger.info("Wrote tiles for plane {} to {}", i, outDir);
+			}
+		}
+	}
+
 	@Test
 	@Ignore
 	public void dumpRegions() throws Exception
@@ -25,9 +25,18 @@
 package net.runelite.cache.fs;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Random;
+import net.runelite.cache.util.Xtea;
+import static net.runelite.cache.fs.jagex.CompressionType.BZ2;
 import static net.runelite.cache.fs.jagex.CompressionType.GZ;
+import static net.runelite.cache.fs.jagex.CompressionType.NONE;
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import org.junit.Test;
 
 public class ContainerTest
@@ -52,4 +61,120 @@ public class ContainerTest
 		assertArrayEquals(data, container.data);
 	}
 
+	@Test
+	public void testDecompressSlice() throws IOException
+	{
+		int[] keys = new int[]
+		{
+			4, 8, 15, 16
+		};
+		Random random = new Random(42L);
+		byte[] data = new byte[1024];
+		random.nextBytes(data);
+
+		for (int compression : new int[]{NONE, BZ2, GZ})
+		{
+			Container container = new Container(compression, 42);
+			container.compress(data, keys);
+			byte[] compressedData = container.data;
+			int crc = Container.decompress(compressedData, keys).crc;
+
+			byte[] buffer = new byte[compressedData.length + 8];
+			System.arraycopy(compressedData, 0, buffer, 3, compressedData.length);
+
+			container = Container.decompress(buffer, 3, compressedData.length, keys);
+			assertArrayEquals(data, container.data);
+			assertEquals(42, container.revision);
+			assertEquals(crc, container.crc);
+
+			// input is left encrypted
+			assertArrayEquals(compressedData, Arrays.copyOfRange(buffer, 3, 3 + compressedData.length));
+		}
+	}
+
+	@Test
+	public void testFindKey() throws IOException
+	{
+		int[] keys = new int[]
+		{
+			4, 8, 15, 16
+		};
+		List<int[]> candidates = Arrays.asList(
+			new int[]{1, 2, 3, 4},
+			new int[]{4, 8, 15, 17},
+			keys
+		);
+		Random random = new Random(42L);
+		byte[] data = new byte[1024];
+		random.nextBytes(data);
+
+		for (int compression : new int[]{BZ2, GZ})
+		{
+			Container container = new Container(compression, -1);
+			container.compress(data, keys);
+			byte[] compressedData = container.data;
+
+			assertTrue(Container.checkKey(compressedData, 0, compressedData.length, new Xtea(keys)));
+			assertFalse(Container.checkKey(compressedData, 0, compressedData.length, new Xtea(candidates.get(0))));
+
+			assertEquals(2, Container.findKey(compressedData, 0, compressedData.length, candidates));
+			assertEquals(-1, Container.findKey(compressedData, 0, compressedData.length, candidates.subList(0, 2)));
+		}
+	}
+
+	@Test
+	public void testForgedDecompressedLength() throws IOException
+	{
+		Random random = new Random(42L);
+		byte[] data = new byte[1024];
+		random.nextBytes(data);
+
+		for (int compression : new int[]{BZ2, GZ})
+		{
+			Container container = new Container(compression, -1);
+			container.compress(data, null);
+			byte[] compressedData = container.data;
+
+			// claim the data decompresses to 2GB, which must fail without allocating it
+			compressedData[5] = 0x7f;
+			compressedData[6] = compressedData[7] = compressedData[8] = (byte) 0xff;
+
+			try
+			{
+				Container.decompress(compressedData, null);
+				fail();
+			}
+			catch (IOException ex)
+			{
+				// expected
+			}
+		}
+	}
+
+	@Test
+	public void testCorruptGzipTrailer() throws IOException
+	{
+		Random random = new Random(42L);
+		byte[] data = new byte[1024];
+		random.nextBytes(data);
+
+		Container container = new Container(GZ, -1);
+		container.compress(data, null);
+		byte[] compressedData = container.data;
+
+		// the gzip data ends with its crc32 and length
+		int compressedLength = ((compressedData[1] & 0xFF) << 24) | ((compressedData[2] & 0xFF) << 16)
+			| ((compressedData[3] & 0xFF) << 8) | (compressedData[4] & 0xFF);
+		compressedData[9 + compressedLength - 8] ^= 1;
+
+		try
+		{
+			Container.decompress(compressedData, null);
+			fail();
+		}
+		catch (IOException ex)
+		{
+			// expected
+		}
+	}
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.fs.jagex;
+
+import java.io.File;
+import java.io.IOException;
+import net.runelite.cache.StoreLocation;
+import net.runelite.cache.fs.Container;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class MappedDataFileTest
+{
+	@Rule
+	public TemporaryFolder folder = StoreLocation.getTemporaryFolder();
+
+	@Test
+	public void testRead() throws IOException
+	{
+		File file = folder.newFile();
+		byte[] b = new byte[4096];
+		for (int i = 0; i < b.length; ++i)
+		{
+			b[i] = (byte) i;
+		}
+
+		DataFileWriteResult res, res2;
+		try (DataFile df = new DataFile(file))
+		{
+			Container container = new Container(CompressionType.NONE, 0);
+			container.compress("test".getBytes(), null);
+			res = df.write(42, 3, container.data);
+
+			container = new Container(CompressionType.GZ, 42);
+			container.compress(b, null);
+			res2 = df.write(42, 0x1FFFF, container.data);
+		}
+
+		try (MappedDataFile df = new MappedDataFile(file))
+		{
+			byte[] compressedData = df.read(42, 3, res.sector, res.compressedLength);
+			Assert.assertEquals("test", new String(Container.decompress(compressedData, null).data));
+
+			compressedData = df.read(42, 0x1FFFF, res2.sector, res2.compressedLength);
+			Assert.assertArrayEquals(b, Container.decompress(compressedData, null).data);
+
+			// wrong archive
+			Assert.assertNull(df.read(42, 4, res.sector, res.compressedLength));
+		}
+	}
+
+	@Test
+	public void testWriteRemaps() throws IOException
+	{
+		try (MappedDataFile df = new MappedDataFile(folder.newFile()))
+		{
+			Container container = new Container(CompressionType.NONE, 0);
+			container.compress("test".getBytes(), null);
+			DataFileWriteResult res = df.write(41, 4, container.data);
+
+			byte[] compressedData = df.read(41, 4, res.sector, res.compressedLength);
+			Assert.assertEquals("test", new String(Container.decompress(compressedData, null).data));
+
+			container = new Container(CompressionType.BZ2, 0);
+			container.compress("test2".getBytes(), null);
+			res = df.write(41, 5, container.data);
+
+			compressedData = df.read(41, 5, res.sector, res.compressedLength);
+			Assert.assertEquals("test2", new String(Container.decompress(compressedData, null).data));
+		}
+	}
+}
@@ -27,6 +27,8 @@ package net.runelite.cache.item;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
 import javax.imageio.ImageIO;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.cache.IndexType;
@@ -41,6 +43,8 @@ import net.runelite.cache.definitions.providers.ModelProvider;
 import net.runelite.cache.fs.Archive;
 import net.runelite.cache.fs.Index;
 import net.runelite.cache.fs.Store;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import org.junit.Ignore;
 import org.junit.Rule;
 import org.junit.Test;
@@ -52,6 +56,40 @@ public class ItemSpriteFactoryTest
 	@Rule
 	public TemporaryFolder folder = StoreLocation.getTemporaryFolder();
 
+	@Test
+	public void testNotedItemNotModified() throws IOException
+	{
+		ItemDefinition unnoted = new ItemDefinition(1);
+		unnoted.name = "Item";
+		unnoted.inventoryModel = 100;
+
+		ItemDefinition template = new ItemDefinition(799);
+		template.inventoryModel = 200;
+		template.zoom2d = 1000;
+
+		ItemDefinition noted = new ItemDefinition(2);
+		noted.notedID = 1;
+		noted.notedTemplate = 799;
+
+		Map<Integer, ItemDefinition> items = new HashMap<>();
+		items.put(unnoted.id, unnoted);
+		items.put(template.id, template);
+		items.put(noted.id, noted);
+
+		int[] requestedModel = new int[1];
+		SpritePixels sprite = ItemSpriteFactory.createSpritePixels(items::get, modelId ->
+		{
+			requestedModel[0] = modelId;
+			return null;
+		}, null, new ModelScratch(), noted.id, 1, 1, 0, false);
+
+		assertNull(sprite);
+		assertEquals(200, requestedModel[0]);
+		assertEquals(0, noted.inventoryModel);
+		assertEquals(2000, noted.zoom2d);
+		assertEquals("null", noted.name);
+	}
+
 	@Test
 	@Ignore
 	public void test() throws IOException
@@ -24,6 +24,7 @@
  */
 package net.runelite.cache.util;
 
+import java.nio.ByteBuffer;
 import static org.junit.Assert.assertArrayEquals;
 import org.junit.Test;
 
@@ -52,4 +53,34 @@ public class XteaTest
 
 		assertArrayEquals(data, decData);
 	}
+
+	@Test
+	public void testInPlace()
+	{
+		byte[] data = "testtesttest1".getBytes();
+
+		int[] key = new int[]
+		{
+			4, 8, 15, 16
+		};
+		byte[] encrypted = new byte[]
+		{
+			121, -18, 48, 64, 120, -42, -113, 77, 116, 101, 115, 116, 49
+		};
+
+		Xtea xtea = new Xtea(key);
+		byte[] buf = data.clone();
+		xtea.encrypt(buf, 0, buf.length);
+		assertArrayEquals(encrypted, buf);
+
+		xtea.decrypt(buf, 0, buf.length);
+		assertArrayEquals(data, buf);
+
+		ByteBuffer buffer = ByteBuffer.allocateDirect(encrypted.length);
+		buffer.put(encrypted);
+		buffer.flip();
+		xtea.decrypt(buffer);
+		buffer.get(buf);
+		assertArrayEquals(data, buf);
+	}
 }
@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.http.service.cache;
+
+import com.google.common.hash.Hashing;
+import com.google.common.io.BaseEncoding;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A local disk cache of archive data, addressed by the sha256 of the data
+ * and evicted least recently used first once over its size budget.
+ */
+@Slf4j
+class ArchiveDiskCache
+{
+	private final File directory;
+	private final long maxSize;
+	// hash -> file size, in access order
+	private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+	private long size;
+
+	ArchiveDiskCache(File directory, long maxSize) throws IOException
+	{
+		this.directory = directory;
+		this.maxSize = maxSize;
+
+		if (!directory.isDirectory() && !directory.mkdirs())
+		{
+			throw new IOException("Unable to create archive cache directory " + directory);
+		}
+
+		load();
+	}
+
+	/**
+	 * Get archive data by hash
+	 *
+	 * @return the data, or null if it is not cached
+	 */
+	byte[] get(byte[] hash)
+	{
+		String name = BaseEncoding.base16().encode(hash);
+
+		synchronized (this)
+		{
+			if (entries.get(name) == null)
+			{
+				return null;
+			}
+		}
+
+		try
+		{
+			return Files.readAllBytes(getFile(name).toPath());
+		}
+		catch (IOException ex)
+		{
+			// evicted concurrently, or removed from under us
+			log.debug("unable to read cached archive {}", name, ex);
+			remove(name);
+			return null;
+		}
+	}
+
+	/**
+	 * Add archive data to the cache. Data which does not match the hash is
+	 * not cached.
+	 */
+	void put(byte[] hash, byte[] data)
+	{
+		String name = BaseEncoding.base16().encode(hash);
+
+		if (data.length > maxSize)
+		{
+			return;
+		}
+
+		synchronized (this)
+		{
+			if (entries.containsKey(name))
+			{
+				return;
+			}
+		}
+
+		if (!Arrays.equals(hash, Hashing.sha256().hashBytes(data).asBytes()))
+		{
+			log.warn("archive data does not match hash {}", name);
+			return;
+		}
+
+		File file = getFile(name);
+		try
+		{
+			File parent = file.getParentFile();
+			if (!parent.isDirectory() && !parent.mkdirs())
+			{
+				throw new IOException("Unable to create directory " + parent);
+			}
+
+			Path tmp = Files.createTempFile(directory.toPath(), name, ".tmp");
+			try
+			{
+				Files.write(tmp, data);
+				Files.move(tmp, file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			}
+			finally
+			{
+				Files.deleteIfExists(tmp);
+			}
+		}
+		catch (IOException ex)
+		{
+			log.warn("unable to cache archive {}", name, ex);
+			return;
+		}
+
+		synchronized (this)
+		{
+			if (entries.put(name, (long) data.length) == null)
+			{
+				size += data.length;
+			}
+			evict();
+		}
+	}
+
+	synchronized long size()
+	{
+		return size;
+	}
+
+	private synchronized void remove(String name)
+	{
+		Long length = entries.remove(name);
+		if (length != null)
+		{
+			size -= length;
+		}
+	}
+
+	private void evict()
+	{
+		Iterator<Map.Entry<String, Long>> it = entries.entrySet().iterator();
+		while (size > maxSize && it.hasNext())
+		{
+			Map.Entry<String, Long> entry = it.next();
+			it.remove();
+			size -= entry.getValue();
+
+			File file = getFile(entry.getKey());
+			if (!file.delete())
+			{
+				log.warn("unable to delete cached archive {}", file);
+			}
+		}
+	}
+
+	private void load()
+	{
+		// left over from interrupted writes
+		File[] tmpFiles = directory.listFiles((dir, name) -> name.endsWith(".tmp"));
+		if (tmpFiles != null)
+		{
+			for (File file : tmpFiles)
+			{
+				file.delete();
+			}
+		}
+
+		List<File> files = new ArrayList<>();
+		File[] dirs = directory.listFiles(File::isDirectory);
+		if (dirs != null)
+		{
+			for (File dir : dirs)
+			{
+				File[] children = dir.listFiles(File::isFile);
+				if (children != null)
+				{
+					files.addAll(Arrays.asList(children));
+				}
+			}
+		}
+
+		// oldest first, so the most recently written are evicted last
+		files.sort(Comparator.comparingLong(File::lastModified));
+
+		synchronized (this)
+		{
+			for (File file : files)
+			{
+				String name = file.getParentFile().getName() + file.getName();
+				long length = file.length();
+				if (entries.put(name, length) == null)
+				{
+					size += length;
+				}
+			}
+			evict();
+		}
+
+		log.debug("Loaded {} cached archives ({} bytes)", entries.size(), size);
+	}
+
+	private File getFile(String name)
+	{
+		return new File(new File(directory, name.substring(0, 2)), name.substring(2));
+	}
+}
@@ -24,35 +24,19 @@
  */
 package net.runelite.http.service.cache;
 
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.List;
 import java.util.stream.Collectors;
-import javax.imageio.ImageIO;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.cache.ConfigType;
 import net.runelite.cache.IndexType;
 import net.runelite.cache.definitions.ItemDefinition;
-import net.runelite.cache.definitions.ModelDefinition;
 import net.runelite.cache.definitions.NpcDefinition;
 import net.runelite.cache.definitions.ObjectDefinition;
-import net.runelite.cache.definitions.SpriteDefinition;
-import net.runelite.cache.definitions.TextureDefinition;
-import net.runelite.cache.definitions.loaders.ItemLoader;
-import net.runelite.cache.definitions.loaders.ModelLoader;
 import net.runelite.cache.definitions.loaders.NpcLoader;
 import net.runelite.cache.definitions.loaders.ObjectLoader;
-import net.runelite.cache.definitions.loaders.SpriteLoader;
-import net.runelite.cache.definitions.loaders.TextureLoader;
-import net.runelite.cache.definitions.providers.ItemProvider;
-import net.runelite.cache.definitions.providers.ModelProvider;
-import net.runelite.cache.definitions.providers.SpriteProvider;
-import net.runelite.cache.definitions.providers.TextureProvider;
 import net.runelite.cache.fs.ArchiveFiles;
-import net.runelite.cache.fs.Container;
 import net.runelite.cache.fs.FSFile;
-import net.runelite.cache.item.ItemSpriteFactory;
 import net.runelite.http.api.cache.Cache;
 import net.runelite.http.api.cache.CacheArchive;
 import net.runelite.http.api.cache.CacheIndex;
@@ -75,6 +59,9 @@ public class CacheController
 	@Autowired
 	private CacheService cacheService;
 
+	@Autowired
+	private DefinitionService definitionService;
+
 	@RequestMapping("/")
 	public List<Cache> listCaches()
 	{
@@ -203,21 +190,18 @@ public class CacheController
 	@RequestMapping("item/{itemId}")
 	public ItemDefinition getItem(@PathVariable int itemId) throws IOException
 	{
-		ArchiveEntry archiveEntry = findConfig(ConfigType.ITEM);
-
-		ArchiveFiles archiveFiles = cacheService.getArchiveFiles(archiveEntry);
-		if (archiveFiles == null)
+		CacheEntry cache = cacheService.findMostRecent();
+		if (cache == null)
 		{
 			throw new NotFoundException();
 		}
 
-		FSFile file = archiveFiles.findFile(itemId);
-		if (file == null)
+		ItemDefinition itemdef = definitionService.getItem(cache, itemId);
+		if (itemdef == null)
 		{
 			throw new NotFoundException();
 		}
 
-		ItemDefinition itemdef = new ItemLoader().load(itemId, file.getContents());
 		return itemdef;
 	}
 
@@ -229,88 +213,19 @@ public class CacheController
 		@RequestParam(defaultValue = "3153952") int shadowColor
 	) throws IOException
 	{
-		final CacheEntry cache = cacheService.findMostRecent();
-		ItemProvider itemProvider = new ItemProvider()
-		{
-			@Override
-			public ItemDefinition provide(int itemId)
-			{
-				try
-				{
-					return getItem(itemId);
-				}
-				catch (IOException ex)
-				{
-					log.warn(null, ex);
-					return null;
-				}
-			}
-		};
-		ModelProvider modelProvider = new ModelProvider()
-		{
-			@Override
-			public ModelDefinition provide(int modelId) throws IOException
-			{
-				IndexEntry indexEntry = cacheService.findIndexForCache(cache, IndexType.MODELS.getNumber());
-				ArchiveEntry archiveEntry = cacheService.findArchiveForIndex(indexEntry, modelId);
-				byte[] archiveData = Container.decompress(cacheService.getArchive(archiveEntry), null).data;
-				return new ModelLoader().load(modelId, archiveData);
-			}
-		};
-		SpriteProvider spriteProvider = new SpriteProvider()
+		CacheEntry cache = cacheService.findMostRecent();
+		if (cache == null)
 		{
-			@Override
-			public SpriteDefinition provide(int spriteId, int frameId)
-			{
-				try
-				{
-					IndexEntry indexEntry = cacheService.findIndexForCache(cache, IndexType.SPRITES.getNumber());
-					ArchiveEntry archiveEntry = cacheService.findArchiveForIndex(indexEntry, spriteId);
-					byte[] archiveData = Container.decompress(cacheService.getArchive(archiveEntry), null).data;
-					SpriteDefinition[] defs = new SpriteLoader().load(spriteId, archiveData);
-					return defs[frameId];
-				}
-				catch (Exception ex)
-				{
-					log.warn(null, ex);
-					return null;
-				}
-			}
-		};
-
-		TextureProvider textureProvider2 = new TextureProvider()
+			throw new NotFoundException();
+		}
+
+		byte[] image = definitionService.getItemImage(cache, itemId, quantity, border, shadowColor);
+		if (image == null)
 		{
-			@Override
-			public TextureDefinition[] provide()
-			{
-				try
-				{
-					IndexEntry indexEntry = cacheService.findIndexForCache(cache, IndexType.TEXTURES.getNumber());
-					ArchiveEntry archiveEntry = cacheService.findArchiveForIndex(indexEntry, 0);
-					ArchiveFiles archiveFiles = cacheService.getArchiveFiles(archiveEntry);
-					TextureLoader loader = new TextureLoader();
-					TextureDefinition[] defs = new TextureDefinition[archiveFiles.getFiles().size()];
-					int i = 0;
-					for (FSFile file : archiveFiles.getFiles())
-					{
-						TextureDefinition def = loader.load(file.getFileId(), file.getContents());
-						defs[i++] = def;
-					}
-					return defs;
-				}
-				catch (Exception ex)
-				{
-					log.warn(null, ex);
-					return null;
-				}
-			}
-		};
-
-		BufferedImage itemImage = ItemSpriteFactory.createSprite(itemProvider, modelProvider, spriteProvider, textureProvider2,
-			itemId, quantity, border, shadowColor, false);
-		ByteArrayOutputStream bao = new ByteArrayOutputStream();
-		ImageIO.write(itemImage, "png", bao);
-		return ResponseEntity.ok(bao.toByteArray());
+			throw new NotFoundException();
+		}
+
+		return ResponseEntity.ok(image);
 	}
 
 	@RequestMapping("object/{objectId}")
@@ -24,9 +24,12 @@
  */
 package net.runelite.http.service.cache;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Iterables;
 import com.google.common.io.BaseEncoding;
 import com.google.common.io.ByteStreams;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.minio.MinioClient;
 import io.minio.errors.ErrorResponseException;
 import io.minio.errors.InsufficientDataException;
@@ -36,12 +39,19 @@ import io.minio.errors.InvalidBucketNameException;
 import io.minio.errors.InvalidEndpointException;
 import io.minio.errors.InvalidPortException;
 import io.minio.errors.NoResponseException;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.cache.ConfigType;
 import net.runelite.cache.IndexType;
@@ -76,15 +86,36 @@ public class CacheService
 	private String minioBucket;
 
 	private final MinioClient minioClient;
+	private final ArchiveDiskCache archiveDiskCache;
+	private final ExecutorService fetchExecutor;
+
+	// files of an archive by archive entry id, archives are immutable
+	private final Cache<Integer, List<FileEntry>> archiveFileEntries = CacheBuilder.newBuilder()
+		.maximumSize(4096)
+		.build();
 
 	@Autowired
 	public CacheService(
 		@Value("${minio.endpoint}") String minioEndpoint,
 		@Value("${minio.accesskey}") String accessKey,
-		@Value("${minio.secretkey}") String secretKey
-	) throws InvalidEndpointException, InvalidPortException
+		@Value("${minio.secretkey}") String secretKey,
+		@Value("${minio.cache.directory:${java.io.tmpdir}/runelite-archives}") String cacheDirectory,
+		@Value("${minio.cache.size:1073741824}") long cacheSize,
+		@Value("${minio.fetch.threads:8}") int fetchThreads
+	) throws InvalidEndpointException, InvalidPortException, IOException
 	{
 		this.minioClient = new MinioClient(minioEndpoint, accessKey, secretKey);
+		this.archiveDiskCache = new ArchiveDiskCache(new File(cacheDirectory), cacheSize);
+		this.fetchExecutor = Executors.newFixedThreadPool(fetchThreads, new ThreadFactoryBuilder()
+			.setNameFormat("archive-fetch-%d")
+			.setDaemon(true)
+			.build());
+	}
+
+	@PreDestroy
+	public void shutdown()
+	{
+		fetchExecutor.shutdownNow();
 	}
 
 	@Bean
@@ -100,6 +131,76 @@ public class CacheService
 	 * @return
 	 */
 	public byte[] getArchive(ArchiveEntry archiveEntry)
+	{
+		byte[] data = archiveDiskCache.get(archiveEntry.getHash());
+		if (data != null)
+		{
+			return data;
+		}
+
+		data = fetchArchive(archiveEntry);
+		if (data != null)
+		{
+			archiveDiskCache.put(archiveEntry.getHash(), data);
+		}
+		return data;
+	}
+
+	/**
+	 * retrieve many archives from storage, fetching the archives which are
+	 * not cached locally concurrently
+	 *
+	 * @param archiveEntries
+	 * @return the archive data, in the same order as the archive entries.
+	 * Archives which could not be retrieved are null.
+	 */
+	public List<byte[]> getArchives(Collection<ArchiveEntry> archiveEntries) throws InterruptedException
+	{
+		List<byte[]> result = new ArrayList<>(archiveEntries.size());
+		List<Future<byte[]>> futures = new ArrayList<>(archiveEntries.size());
+
+		for (ArchiveEntry archiveEntry : archiveEntries)
+		{
+			byte[] data = archiveDiskCache.get(archiveEntry.getHash());
+			result.add(data);
+			futures.add(data != null ? null : fetchExecutor.submit(() -> getArchive(archiveEntry)));
+		}
+
+		try
+		{
+			for (int i = 0; i < futures.size(); ++i)
+			{
+				Future<byte[]> future = futures.get(i);
+				if (future == null)
+				{
+					continue;
+				}
+
+				try
+				{
+					result.set(i, future.get());
+				}
+				catch (ExecutionException ex)
+				{
+					log.warn(null, ex);
+				}
+			}
+		}
+		finally
+		{
+			for (Future<byte[]> future : futures)
+			{
+				if (future != null)
+				{
+					future.cancel(true);
+				}
+			}
+		}
+
+		return result;
+	}
+
+	private byte[] fetchArchive(ArchiveEntry archiveEntry)
 	{
 		String hashStr = BaseEncoding.base16().encode(archiveEntry.getHash());
 		String path = new StringBuilder()
@@ -123,36 +224,50 @@ public class CacheService
 
 	public ArchiveFiles getArchiveFiles(ArchiveEntry archiveEntry) throws IOException
 	{
-		CacheDAO cacheDao = new CacheDAO();
+		byte[] archiveData = getArchive(archiveEntry);
 
-		try (Connection con = sql2o.open();
-			ResultSetIterable<FileEntry> files = cacheDao.findFilesForArchive(con, archiveEntry))
+		if (archiveData == null)
 		{
-			byte[] archiveData = getArchive(archiveEntry);
+			return null;
+		}
 
-			if (archiveData == null)
-			{
-				return null;
-			}
+		Container result = Container.decompress(archiveData, null);
+		if (result == null)
+		{
+			return null;
+		}
 
-			Container result = Container.decompress(archiveData, null);
-			if (result == null)
-			{
-				return null;
-			}
+		byte[] decompressedData = result.data;
 
-			byte[] decompressedData = result.data;
+		ArchiveFiles archiveFiles = new ArchiveFiles();
+		for (FileEntry fileEntry : findFilesForArchive(archiveEntry))
+		{
+			FSFile file = new FSFile(fileEntry.getFileId());
+			archiveFiles.addFile(file);
+			file.setNameHash(fileEntry.getNameHash());
+		}
+		archiveFiles.loadContents(decompressedData);
+		return archiveFiles;
+	}
 
-			ArchiveFiles archiveFiles = new ArchiveFiles();
-			for (FileEntry fileEntry : files)
-			{
-				FSFile file = new FSFile(fileEntry.getFileId());
-				archiveFiles.addFile(file);
-				file.setNameHash(fileEntry.getNameHash());
-			}
-			archiveFiles.loadContents(decompressedData);
-			return archiveFiles;
+	private List<FileEntry> findFilesForArchive(ArchiveEntry archiveEntry)
+	{
+		List<FileEntry> files = archiveFileEntries.getIfPresent(archiveEntry.getId());
+		if (files != null)
+		{
+			return files;
 		}
+
+		CacheDAO cacheDao = new CacheDAO();
+		try (Connection con = sql2o.open();
+			ResultSetIterable<FileEntry> fileEntries = cacheDao.findFilesForArchive(con, archiveEntry))
+		{
+			files = new ArrayList<>();
+			Iterables.addAll(files, fileEntries);
+		}
+
+		archiveFileEntries.put(archiveEntry.getId(), files);
+		return files;
 	}
 
 	public List<CacheEntry> listCaches()
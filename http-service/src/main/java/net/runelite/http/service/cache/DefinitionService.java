@@ -0,0 +1,344 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.http.service.cache;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import javax.imageio.ImageIO;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.cache.ConfigType;
+import net.runelite.cache.IndexType;
+import net.runelite.cache.definitions.ItemDefinition;
+import net.runelite.cache.definitions.ModelDefinition;
+import net.runelite.cache.definitions.SpriteDefinition;
+import net.runelite.cache.definitions.TextureDefinition;
+import net.runelite.cache.definitions.loaders.ItemLoader;
+import net.runelite.cache.definitions.loaders.ModelLoader;
+import net.runelite.cache.definitions.loaders.SpriteLoader;
+import net.runelite.cache.definitions.loaders.TextureLoader;
+import net.runelite.cache.definitions.providers.ItemProvider;
+import net.runelite.cache.definitions.providers.ModelProvider;
+import net.runelite.cache.definitions.providers.SpriteProvider;
+import net.runelite.cache.definitions.providers.TextureProvider;
+import net.runelite.cache.fs.ArchiveFiles;
+import net.runelite.cache.fs.Container;
+import net.runelite.cache.fs.FSFile;
+import net.runelite.cache.item.ItemSpriteFactory;
+import net.runelite.cache.item.RSTextureProvider;
+import net.runelite.http.service.cache.beans.ArchiveEntry;
+import net.runelite.http.service.cache.beans.CacheEntry;
+import net.runelite.http.service.cache.beans.IndexEntry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Caches decoded definitions and rendered item images, keyed by cache.
+ * <p>
+ * Item sprite rendering modifies the item and model definitions it is given,
+ * so item definitions are decoded from the cached item archive and models
+ * from their cached decompressed data on each request. Sprites and textures
+ * are shared, with texture pixels computed up front.
+ */
+@Service
+@Slf4j
+public class DefinitionService
+{
+	private final CacheService cacheService;
+
+	private final LoadingCache<CacheEntry, ArchiveFiles> itemArchives = CacheBuilder.newBuilder()
+		.maximumSize(2)
+		.build(new CacheLoader<CacheEntry, ArchiveFiles>()
+		{
+			@Override
+			public ArchiveFiles load(CacheEntry cache) throws IOException
+			{
+				return loadArchiveFiles(cache, IndexType.CONFIGS, ConfigType.ITEM.getId());
+			}
+		});
+
+	private final LoadingCache<DefinitionKey, Optional<byte[]>> models = CacheBuilder.newBuilder()
+		.maximumSize(4096)
+		.build(new CacheLoader<DefinitionKey, Optional<byte[]>>()
+		{
+			@Override
+			public Optional<byte[]> load(DefinitionKey key) throws IOException
+			{
+				return Optional.ofNullable(loadArchive(key.getCache(), IndexType.MODELS, key.getId()));
+			}
+		});
+
+	private final LoadingCache<DefinitionKey, Optional<SpriteDefinition[]>> sprites = CacheBuilder.newBuilder()
+		.maximumSize(1024)
+		.build(new CacheLoader<DefinitionKey, Optional<SpriteDefinition[]>>()
+		{
+			@Override
+			public Optional<SpriteDefinition[]> load(DefinitionKey key) throws IOException
+			{
+				return Optional.ofNullable(loadSprites(key.getCache(), key.getId()));
+			}
+		});
+
+	private final LoadingCache<CacheEntry, TextureDefinition[]> textures = CacheBuilder.newBuilder()
+		.maximumSize(2)
+		.build(new CacheLoader<CacheEntry, TextureDefinition[]>()
+		{
+			@Override
+			public TextureDefinition[] load(CacheEntry cache) throws IOException
+			{
+				return loadTextures(cache);
+			}
+		});
+
+	// every entry, including items which can't be rendered, weighs at least this much so any
+	// number of distinct requests stays within the maximum weight
+	private static final int ITEM_IMAGE_ENTRY_WEIGHT = 256;
+
+	private final LoadingCache<ItemImageKey, Optional<byte[]>> itemImages = CacheBuilder.newBuilder()
+		.maximumWeight(32 * 1024 * 1024)
+		.<ItemImageKey, Optional<byte[]>>weigher((k, v) -> ITEM_IMAGE_ENTRY_WEIGHT + v.map(b -> b.length).orElse(0))
+		.build(new CacheLoader<ItemImageKey, Optional<byte[]>>()
+		{
+			@Override
+			public Optional<byte[]> load(ItemImageKey key) throws IOException
+			{
+				return Optional.ofNullable(renderItemImage(key));
+			}
+		});
+
+	@Autowired
+	public DefinitionService(CacheService cacheService)
+	{
+		this.cacheService = cacheService;
+	}
+
+	public ItemDefinition getItem(CacheEntry cache, int itemId) throws IOException
+	{
+		ArchiveFiles archiveFiles = get(itemArchives, cache);
+		FSFile file = archiveFiles.findFile(itemId);
+		if (file == null)
+		{
+			return null;
+		}
+
+		return new ItemLoader().load(itemId, file.getContents());
+	}
+
+	public ModelDefinition getModel(CacheEntry cache, int modelId) throws IOException
+	{
+		byte[] data = get(models, new DefinitionKey(cache, modelId)).orElse(null);
+		if (data == null)
+		{
+			return null;
+		}
+
+		return new ModelLoader().load(modelId, data);
+	}
+
+	/**
+	 * Get the frames of a sprite. The returned definitions are shared and must not be modified.
+	 */
+	public SpriteDefinition[] getSprites(CacheEntry cache, int spriteId) throws IOException
+	{
+		return get(sprites, new DefinitionKey(cache, spriteId)).orElse(null);
+	}
+
+	/**
+	 * Get the texture definitions, with their pixels computed. The returned
+	 * definitions are shared and must not be modified.
+	 */
+	public TextureDefinition[] getTextures(CacheEntry cache) throws IOException
+	{
+		return get(textures, cache);
+	}
+
+	/**
+	 * Get an item image as a png
+	 *
+	 * @return the png, or null if the item can't be rendered
+	 */
+	public byte[] getItemImage(CacheEntry cache, int itemId, int quantity, int border, int shadowColor) throws IOException
+	{
+		// collapse parameters which render the same image onto one key: quantities of 1 or less
+		// are not stacks, and borders are only told apart as 0, 1, 2 or more than 2
+		quantity = Math.max(quantity, 1);
+		border = Math.max(0, Math.min(border, 3));
+
+		return get(itemImages, new ItemImageKey(cache, itemId, quantity, border, shadowColor)).orElse(null);
+	}
+
+	private byte[] renderItemImage(ItemImageKey key) throws IOException
+	{
+		CacheEntry cache = key.getCache();
+
+		ItemProvider itemProvider = itemId ->
+		{
+			try
+			{
+				return getItem(cache, itemId);
+			}
+			catch (IOException ex)
+			{
+				log.warn(null, ex);
+				return null;
+			}
+		};
+		ModelProvider modelProvider = modelId -> getModel(cache, modelId);
+		SpriteProvider spriteProvider = textureSpriteProvider(cache);
+		TextureDefinition[] textureDefinitions = getTextures(cache);
+		TextureProvider textureProvider = () -> textureDefinitions;
+
+		BufferedImage itemImage = ItemSpriteFactory.createSprite(itemProvider, modelProvider, spriteProvider, textureProvider,
+			key.getItemId(), key.getQuantity(), key.getBorder(), key.getShadowColor(), false);
+		if (itemImage == null)
+		{
+			return null;
+		}
+
+		ByteArrayOutputStream bao = new ByteArrayOutputStream();
+		ImageIO.write(itemImage, "png", bao);
+		return bao.toByteArray();
+	}
+
+	private ArchiveEntry findArchive(CacheEntry cache, IndexType indexType, int archiveId)
+	{
+		IndexEntry indexEntry = cacheService.findIndexForCache(cache, indexType.getNumber());
+		if (indexEntry == null)
+		{
+			return null;
+		}
+
+		return cacheService.findArchiveForIndex(indexEntry, archiveId);
+	}
+
+	private byte[] loadArchive(CacheEntry cache, IndexType indexType, int archiveId) throws IOException
+	{
+		ArchiveEntry archiveEntry = findArchive(cache, indexType, archiveId);
+		if (archiveEntry == null)
+		{
+			return null;
+		}
+
+		byte[] archiveData = cacheService.getArchive(archiveEntry);
+		if (archiveData == null)
+		{
+			return null;
+		}
+
+		return Container.decompress(archiveData, null).data;
+	}
+
+	private ArchiveFiles loadArchiveFiles(CacheEntry cache, IndexType indexType, int archiveId) throws IOException
+	{
+		ArchiveEntry archiveEntry = findArchive(cache, indexType, archiveId);
+		if (archiveEntry == null)
+		{
+			throw new IOException("Unable to find archive " + indexType + "/" + archiveId);
+		}
+
+		ArchiveFiles archiveFiles = cacheService.getArchiveFiles(archiveEntry);
+		if (archiveFiles == null)
+		{
+			throw new IOException("Unable to load archive " + indexType + "/" + archiveId);
+		}
+
+		return archiveFiles;
+	}
+
+	private SpriteDefinition[] loadSprites(CacheEntry cache, int spriteId) throws IOException
+	{
+		byte[] data = loadArchive(cache, IndexType.SPRITES, spriteId);
+		if (data == null)
+		{
+			return null;
+		}
+
+		return new SpriteLoader().load(spriteId, data);
+	}
+
+	private TextureDefinition[] loadTextures(CacheEntry cache) throws IOException
+	{
+		ArchiveFiles archiveFiles = loadArchiveFiles(cache, IndexType.TEXTURES, 0);
+
+		TextureLoader loader = new TextureLoader();
+		TextureDefinition[] defs = new TextureDefinition[archiveFiles.getFiles().size()];
+		int i = 0;
+		for (FSFile file : archiveFiles.getFiles())
+		{
+			defs[i++] = loader.load(file.getFileId(), file.getContents());
+		}
+
+		RSTextureProvider rsTextureProvider = new RSTextureProvider(() -> defs, textureSpriteProvider(cache));
+		for (TextureDefinition def : defs)
+		{
+			rsTextureProvider.load(def.getId());
+		}
+
+		return defs;
+	}
+
+	/**
+	 * Computing texture pixels modifies the sprites it uses, so textures are
+	 * given freshly decoded sprites instead of the shared ones.
+	 */
+	private SpriteProvider textureSpriteProvider(CacheEntry cache)
+	{
+		return (spriteId, frameId) ->
+		{
+			try
+			{
+				SpriteDefinition[] sprites = loadSprites(cache, spriteId);
+				return sprites == null ? null : sprites[frameId];
+			}
+			catch (IOException ex)
+			{
+				log.warn(null, ex);
+				return null;
+			}
+		};
+	}
+
+	private static <K, V> V get(LoadingCache<K, V> cache, K key) throws IOException
+	{
+		try
+		{
+			return cache.get(key);
+		}
+		catch (ExecutionException | UncheckedExecutionException ex)
+		{
+			if (ex.getCause() instanceof IOException)
+			{
+				throw (IOException) ex.getCause();
+			}
+			throw new IOException(ex.getCause());
+		}
+	}
+}
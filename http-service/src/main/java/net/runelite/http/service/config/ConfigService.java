@@ -25,7 +25,9 @@
 package net.runelite.http.service.config;
 
 import java.io.IOException;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import net.runelite.http.api.config.ConfigEntry;
@@ -38,9 +40,11 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import static org.springframework.web.bind.annotation.RequestMethod.DELETE;
+import static org.springframework.web.bind.annotation.RequestMethod.PATCH;
 import static org.springframework.web.bind.annotation.RequestMethod.PUT;
 import org.springframework.web.bind.annotation.RestController;
 import org.sql2o.Connection;
+import org.sql2o.Query;
 import org.sql2o.Sql2o;
 import org.sql2o.Sql2oException;
 
@@ -109,6 +113,73 @@ public class ConfigService
 		return new Configuration(config);
 	}
 
+	@RequestMapping(method = PATCH)
+	public void patch(
+		HttpServletRequest request,
+		HttpServletResponse response,
+		@RequestBody List<ConfigEntry> changes
+	) throws IOException
+	{
+		SessionEntry session = auth.handle(request, response);
+
+		if (session == null)
+		{
+			return;
+		}
+
+		// the last change to a key wins
+		Map<String, String> values = new LinkedHashMap<>();
+		for (ConfigEntry entry : changes)
+		{
+			values.put(entry.getKey(), entry.getValue());
+		}
+
+		try (Connection con = sql2o.beginTransaction())
+		{
+			Query set = null;
+			Query unset = null;
+
+			for (Map.Entry<String, String> entry : values.entrySet())
+			{
+				if (entry.getValue() != null)
+				{
+					if (set == null)
+					{
+						set = con.createQuery("insert into config (user, `key`, value) values (:user, :key, :value) on duplicate key update `key` = :key, value = :value");
+					}
+
+					set.addParameter("user", session.getUser())
+						.addParameter("key", entry.getKey())
+						.addParameter("value", entry.getValue())
+						.addToBatch();
+				}
+				else
+				{
+					if (unset == null)
+					{
+						unset = con.createQuery("delete from config where user = :user and `key` = :key");
+					}
+
+					unset.addParameter("user", session.getUser())
+						.addParameter("key", entry.getKey())
+						.addToBatch();
+				}
+			}
+
+			if (set != null)
+			{
+				set.executeBatch();
+			}
+
+			if (unset != null)
+			{
+				unset.executeBatch();
+			}
+
+			con.commit();
+		}
+	}
+
 	@RequestMapping(path = "/{key:.+}", method = PUT)
 	public void setKey(
 		HttpServletRequest request,
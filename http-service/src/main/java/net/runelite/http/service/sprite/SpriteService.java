@@ -28,15 +28,10 @@ import java.awt.image.BufferedImage;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import javax.imageio.ImageIO;
-import net.runelite.cache.IndexType;
 import net.runelite.cache.definitions.SpriteDefinition;
-import net.runelite.cache.definitions.loaders.SpriteLoader;
-import net.runelite.cache.fs.ArchiveFiles;
-import net.runelite.cache.fs.FSFile;
 import net.runelite.http.service.cache.CacheService;
-import net.runelite.http.service.cache.beans.ArchiveEntry;
+import net.runelite.http.service.cache.DefinitionService;
 import net.runelite.http.service.cache.beans.CacheEntry;
-import net.runelite.http.service.cache.beans.IndexEntry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -46,6 +41,9 @@ public class SpriteService
 	@Autowired
 	private CacheService cacheService;
 
+	@Autowired
+	private DefinitionService definitionService;
+
 	public SpriteDefinition getSprite(int spriteId, int frameId) throws IOException
 	{
 		CacheEntry cache = cacheService.findMostRecent();
@@ -54,27 +52,12 @@ public class SpriteService
 			return null;
 		}
 
-		IndexEntry index = cacheService.findIndexForCache(cache, IndexType.SPRITES.getNumber());
-		if (index == null)
-		{
-			return null;
-		}
-
-		ArchiveEntry archive = cacheService.findArchiveForIndex(index, spriteId);
-		if (archive == null)
-		{
-			return null;
-		}
-
-		ArchiveFiles files = cacheService.getArchiveFiles(archive);
-		if (files == null)
+		SpriteDefinition[] sprite = definitionService.getSprites(cache, spriteId);
+		if (sprite == null)
 		{
 			return null;
 		}
 
-		FSFile file = files.getFiles().get(0);
-		byte[] contents = file.getContents();
-		SpriteDefinition[] sprite = new SpriteLoader().load(archive.getArchiveId(), contents);
 		if (frameId < 0 || frameId >= sprite.length)
 		{
 			return null;
@@ -26,8 +26,12 @@ package net.runelite.http.service.xtea;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
-import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import net.runelite.cache.IndexType;
 import net.runelite.cache.fs.Container;
 import net.runelite.cache.util.Djb2;
@@ -67,6 +71,11 @@ public class XteaService
 		.maximumSize(1024)
 		.build();
 
+	// landscape archive data by archive entry id, archives are immutable
+	private final Cache<Integer, byte[]> archiveCache = CacheBuilder.newBuilder()
+		.maximumSize(1024)
+		.build();
+
 	@Autowired
 	public XteaService(
 		@Qualifier("Runelite SQL2O") Sql2o sql2o,
@@ -128,6 +137,7 @@ public class XteaService
 			}
 
 			Query query = null;
+			Map<Integer, List<int[]>> candidates = new LinkedHashMap<>();
 
 			for (XteaKey key : xteaRequest.getKeys())
 			{
@@ -151,11 +161,23 @@ public class XteaService
 					continue;
 				}
 
-				if (!checkKeys(cache, region, keys))
+				candidates.computeIfAbsent(region, r -> new ArrayList<>()).add(keys);
+			}
+
+			Map<Integer, byte[]> archives = getRegionArchives(cache, candidates.keySet());
+
+			for (Map.Entry<Integer, List<int[]>> entry : candidates.entrySet())
+			{
+				int region = entry.getKey();
+				byte[] data = archives.get(region);
+				int idx = Container.findKey(data, 0, data.length, entry.getValue());
+				if (idx == -1)
 				{
 					continue;
 				}
 
+				int[] keys = entry.getValue().get(idx);
+
 				if (query == null)
 				{
 					query = con.createQuery("insert into xtea (region, rev, key1, key2, key3, key4) "
@@ -202,39 +224,75 @@ public class XteaService
 		}
 	}
 
-	private boolean checkKeys(CacheEntry cache, int regionId, int[] keys)
+	/**
+	 * Get the landscape archives of the given regions. Archives which are not
+	 * already cached are fetched together.
+	 */
+	private Map<Integer, byte[]> getRegionArchives(CacheEntry cache, Collection<Integer> regions)
 	{
-		int x = regionId >>> 8;
-		int y = regionId & 0xFF;
-
-		String archiveName = new StringBuilder()
-			.append('l')
-			.append(x)
-			.append('_')
-			.append(y)
-			.toString();
-		int archiveNameHash = Djb2.hash(archiveName);
-
-		ArchiveEntry archiveEntry = cacheService.findArchiveForTypeAndName(cache, IndexType.MAPS, archiveNameHash);
-		if (archiveEntry == null)
+		Map<Integer, byte[]> archives = new HashMap<>();
+		List<Integer> missingRegions = new ArrayList<>();
+		List<ArchiveEntry> missingEntries = new ArrayList<>();
+
+		for (int regionId : regions)
 		{
-			throw new InternalServerErrorException("Unable to find archive for region");
+			int x = regionId >>> 8;
+			int y = regionId & 0xFF;
+
+			String archiveName = new StringBuilder()
+				.append('l')
+				.append(x)
+				.append('_')
+				.append(y)
+				.toString();
+			int archiveNameHash = Djb2.hash(archiveName);
+
+			ArchiveEntry archiveEntry = cacheService.findArchiveForTypeAndName(cache, IndexType.MAPS, archiveNameHash);
+			if (archiveEntry == null)
+			{
+				throw new InternalServerErrorException("Unable to find archive for region");
+			}
+
+			byte[] data = archiveCache.getIfPresent(archiveEntry.getId());
+			if (data != null)
+			{
+				archives.put(regionId, data);
+			}
+			else
+			{
+				missingRegions.add(regionId);
+				missingEntries.add(archiveEntry);
+			}
 		}
 
-		byte[] data = cacheService.getArchive(archiveEntry);
-		if (data == null)
+		if (missingEntries.isEmpty())
 		{
-			throw new InternalServerErrorException("Unable to get archive data");
+			return archives;
 		}
 
+		List<byte[]> fetched;
 		try
 		{
-			Container.decompress(data, keys);
-			return true;
+			fetched = cacheService.getArchives(missingEntries);
+		}
+		catch (InterruptedException ex)
+		{
+			Thread.currentThread().interrupt();
+			throw new InternalServerErrorException("Interrupted fetching archive data");
 		}
-		catch (IOException ex)
+
+		for (int i = 0; i < missingEntries.size(); ++i)
 		{
-			return false;
+			byte[] data = fetched.get(i);
+			if (data == null)
+			{
+				throw new InternalServerErrorException("Unable to get archive data");
+			}
+
+			archiveCache.put(missingEntries.get(i).getId(), data);
+			archives.put(missingRegions.get(i), data);
 		}
+
+		return archives;
 	}
 }
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.http.service.cache;
+
+import com.google.common.hash.Hashing;
+import java.io.IOException;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ArchiveDiskCacheTest
+{
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testPutGet() throws IOException
+	{
+		ArchiveDiskCache cache = new ArchiveDiskCache(folder.getRoot(), 1024);
+		byte[] data = new byte[]{1, 2, 3, 4};
+		byte[] hash = hash(data);
+
+		assertNull(cache.get(hash));
+		cache.put(hash, data);
+		assertArrayEquals(data, cache.get(hash));
+		assertEquals(4, cache.size());
+
+		// reopened caches find existing archives
+		cache = new ArchiveDiskCache(folder.getRoot(), 1024);
+		assertArrayEquals(data, cache.get(hash));
+		assertEquals(4, cache.size());
+	}
+
+	@Test
+	public void testHashMismatch() throws IOException
+	{
+		ArchiveDiskCache cache = new ArchiveDiskCache(folder.getRoot(), 1024);
+		byte[] hash = hash(new byte[]{1});
+
+		cache.put(hash, new byte[]{2});
+		assertNull(cache.get(hash));
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void testEviction() throws IOException
+	{
+		ArchiveDiskCache cache = new ArchiveDiskCache(folder.getRoot(), 8);
+		byte[] a = new byte[]{1, 1, 1, 1};
+		byte[] b = new byte[]{2, 2, 2, 2};
+		byte[] c = new byte[]{3, 3, 3, 3};
+
+		cache.put(hash(a), a);
+		cache.put(hash(b), b);
+		// a is now more recently used than b
+		assertArrayEquals(a, cache.get(hash(a)));
+
+		cache.put(hash(c), c);
+		assertEquals(8, cache.size());
+		assertArrayEquals(a, cache.get(hash(a)));
+		assertNull(cache.get(hash(b)));
+		assertArrayEquals(c, cache.get(hash(c)));
+	}
+
+	private static byte[] hash(byte[] data)
+	{
+		return Hashing.sha256().hashBytes(data).asBytes();
+	}
+}
@@ -45,6 +45,7 @@ import net.runelite.client.eventbus.EventBus;
 import net.runelite.client.game.ItemManager;
 import net.runelite.client.menus.MenuManager;
 import net.runelite.client.plugins.PluginManager;
+import net.runelite.client.profiler.Profiler;
 import net.runelite.client.rs.ClientLoader;
 import net.runelite.client.rs.ClientUpdateCheckMode;
 import net.runelite.client.task.Scheduler;
@@ -86,8 +87,13 @@ public class RuneLiteModule extends AbstractModule
 
 		bind(Callbacks.class).to(Hooks.class);
 
+		final Profiler profiler = new Profiler();
+		bind(Profiler.class).toInstance(profiler);
+
+		final EventBus eventBus = new EventBus();
+		eventBus.setProfiler(profiler);
 		bind(EventBus.class)
-			.toInstance(new EventBus());
+			.toInstance(eventBus);
 
 		bind(EventBus.class)
 			.annotatedWith(Names.named("Deferred EventBus"))
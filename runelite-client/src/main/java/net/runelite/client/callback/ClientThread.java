@@ -25,29 +25,102 @@
 package net.runelite.client.callback;
 
 import com.google.inject.Inject;
-import java.util.Iterator;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BooleanSupplier;
 import javax.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
+import net.runelite.client.profiler.Profiler;
 
 @Singleton
 @Slf4j
 public class ClientThread
 {
-	private ConcurrentLinkedQueue<BooleanSupplier> invokes = new ConcurrentLinkedQueue<>();
+	public enum Priority
+	{
+		/**
+		 * Always ran in the next frame, regardless of the frame budget
+		 */
+		HIGH,
+		NORMAL,
+		LOW
+	}
+
+	/**
+	 * Statistics of the invoke queue
+	 */
+	@Value
+	public static class Stats
+	{
+		/**
+		 * Invokables which have not yet completed, including those backing off
+		 */
+		private final int queued;
+		/**
+		 * Invokables which returned false and are waiting to be retried
+		 */
+		private final int waiting;
+		private final int lastFrameRun;
+		private final long lastFrameNanos;
+		private final long maxFrameNanos;
+		/**
+		 * Frames which ran out of budget and left work for the next frame
+		 */
+		private final long overBudgetFrames;
+	}
+
+	/**
+	 * Normal and low priority work stops running for the frame once this much time is spent
+	 */
+	private static final long FRAME_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(4);
+	private static final int MAX_BACKOFF_SHIFT = 6; // 64 frames
+
+	private static final Priority[] PRIORITIES = Priority.values();
+
+	private final Queue<Invokable> submitted = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger pending = new AtomicInteger();
+
+	// only accessed on the client thread
+	private final Map<Priority, ArrayDeque<Invokable>> queues = new EnumMap<>(Priority.class);
+	private final PriorityQueue<Invokable> waiting = new PriorityQueue<>(Comparator
+		.comparingLong((Invokable i) -> i.nextFrame)
+		.thenComparingLong(i -> i.waitSeq));
+	private long frame;
+	private long waitSeq;
+
+	private volatile int waitingCount;
+	private volatile int lastFrameRun;
+	private volatile long lastFrameNanos;
+	private volatile long maxFrameNanos;
+	private volatile long overBudgetFrames;
 
 	@Inject
 	private Client client;
 
-	public void invoke(Runnable r)
+	@Inject
+	private Profiler profiler;
+
+	public ClientThread()
 	{
-		invoke(() ->
+		for (Priority priority : PRIORITIES)
 		{
-			r.run();
-			return true;
-		});
+			queues.put(priority, new ArrayDeque<>());
+		}
+	}
+
+	public void invoke(Runnable r)
+	{
+		invoke(new RunnableInvoke(r));
 	}
 
 	/**
@@ -58,9 +131,9 @@ public class ClientThread
 	{
 		if (client.isClientThread())
 		{
-			if (r.getAsBoolean())
+			if (!r.getAsBoolean())
 			{
-				invokes.add(r);
+				invokeLater(r);
 			}
 			return;
 		}
@@ -74,42 +147,155 @@ public class ClientThread
 	 */
 	public void invokeLater(Runnable r)
 	{
-		invokeLater(() ->
-		{
-			r.run();
-			return true;
-		});
+		invokeLater(new RunnableInvoke(r), Priority.NORMAL);
 	}
 
 	public void invokeLater(BooleanSupplier r)
 	{
-		invokes.add(r);
+		invokeLater(r, Priority.NORMAL);
+	}
+
+	/**
+	 * Will run r on the game thread after this method returns, once all queued work
+	 * of a higher priority has ran. Normal and low priority work is subject to a
+	 * per frame time budget, and work which does not fit is ran in a later frame.
+	 * If r returns false, r will be ran again, backing off exponentially up to
+	 * {@code 2^MAX_BACKOFF_SHIFT} frames.
+	 */
+	public void invokeLater(Runnable r, Priority priority)
+	{
+		invokeLater(new RunnableInvoke(r), priority);
+	}
+
+	public void invokeLater(BooleanSupplier r, Priority priority)
+	{
+		pending.incrementAndGet();
+		submitted.add(new Invokable(r, priority));
+	}
+
+	public Stats getStats()
+	{
+		return new Stats(pending.get(), waitingCount, lastFrameRun, lastFrameNanos, maxFrameNanos, overBudgetFrames);
 	}
 
 	void invoke()
 	{
 		assert client.isClientThread();
-		Iterator<BooleanSupplier> ir = invokes.iterator();
-		for (; ir.hasNext(); )
+		final long start = System.nanoTime();
+		final boolean profiling = profiler.isEnabled();
+		++frame;
+
+		for (Invokable i; (i = submitted.poll()) != null; )
 		{
-			BooleanSupplier r = ir.next();
-			boolean remove = true;
-			try
-			{
-				remove = r.getAsBoolean();
-			}
-			catch (ThreadDeath d)
-			{
-				throw d;
-			}
-			catch (Throwable e)
+			queues.get(i.priority).add(i);
+		}
+
+		for (Invokable i; (i = waiting.peek()) != null && i.nextFrame <= frame; )
+		{
+			waiting.poll();
+			queues.get(i.priority).add(i);
+		}
+
+		int run = 0;
+		int budgeted = 0;
+		boolean overBudget = false;
+
+		for (Priority priority : PRIORITIES)
+		{
+			final ArrayDeque<Invokable> queue = queues.get(priority);
+
+			while (!queue.isEmpty())
 			{
-				log.warn("Exception in invoke", e);
+				// always make some progress, even if higher priority work used up the budget
+				if (priority != Priority.HIGH && budgeted > 0 && System.nanoTime() - start >= FRAME_BUDGET_NANOS)
+				{
+					overBudget = true;
+					break;
+				}
+
+				run(queue.poll(), profiling);
+				++run;
+				if (priority != Priority.HIGH)
+				{
+					++budgeted;
+				}
 			}
-			if (remove)
+
+			if (overBudget)
 			{
-				ir.remove();
+				break;
 			}
 		}
+
+		final long elapsed = System.nanoTime() - start;
+		waitingCount = waiting.size();
+		lastFrameRun = run;
+		lastFrameNanos = elapsed;
+		if (elapsed > maxFrameNanos)
+		{
+			maxFrameNanos = elapsed;
+		}
+		if (overBudget)
+		{
+			++overBudgetFrames;
+		}
+	}
+
+	private void run(Invokable invokable, boolean profiling)
+	{
+		final BooleanSupplier r = invokable.supplier;
+		boolean remove = true;
+		final long start = profiling ? System.nanoTime() : 0L;
+		try
+		{
+			remove = r.getAsBoolean();
+		}
+		catch (ThreadDeath d)
+		{
+			throw d;
+		}
+		catch (Throwable e)
+		{
+			log.warn("Exception in invoke", e);
+		}
+		if (profiling)
+		{
+			// profile by the caller's lambda rather than the wrapper
+			final Object key = r instanceof RunnableInvoke ? ((RunnableInvoke) r).runnable.getClass() : r.getClass();
+			profiler.record(Profiler.Section.INVOKE, key, System.nanoTime() - start);
+		}
+		if (remove)
+		{
+			pending.decrementAndGet();
+		}
+		else
+		{
+			invokable.nextFrame = frame + (1L << Math.min(invokable.failures++, MAX_BACKOFF_SHIFT));
+			invokable.waitSeq = waitSeq++;
+			waiting.add(invokable);
+		}
+	}
+
+	@RequiredArgsConstructor
+	private static class Invokable
+	{
+		private final BooleanSupplier supplier;
+		private final Priority priority;
+		private int failures;
+		private long nextFrame;
+		private long waitSeq;
+	}
+
+	@RequiredArgsConstructor
+	private static class RunnableInvoke implements BooleanSupplier
+	{
+		private final Runnable runnable;
+
+		@Override
+		public boolean getAsBoolean()
+		{
+			runnable.run();
+			return true;
+		}
 	}
 }
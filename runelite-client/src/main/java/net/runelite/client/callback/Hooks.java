@@ -155,6 +155,16 @@ public class Hooks implements Callbacks
 
 		clientThread.invoke();
 
+		try
+		{
+			// tick pending scheduled tasks, this only touches the tasks which are due
+			scheduler.tick();
+		}
+		catch (Exception ex)
+		{
+			log.warn("error during scheduled tasks", ex);
+		}
+
 		long now = System.currentTimeMillis();
 
 		if (now - lastCheck < CHECK)
@@ -166,9 +176,6 @@ public class Hooks implements Callbacks
 
 		try
 		{
-			// tick pending scheduled tasks
-			scheduler.tick();
-
 			// cull infoboxes
 			infoBoxManager.cull();
 
@@ -24,17 +24,33 @@
  */
 package net.runelite.client.config;
 
+import java.awt.Dimension;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 class ConfigInvocationHandler implements InvocationHandler
 {
+	// cached value meaning the value has not been read yet
+	private static final Object UNREAD = new Object();
+	// cached value meaning the default value should be used
+	private static final Object DEFAULT = new Object();
+
 	private final ConfigManager manager;
+	private final Map<Method, ConfigItemAccessor> accessors = new ConcurrentHashMap<>();
+	// accessors by group.key, for invalidation
+	private final Map<String, Set<ConfigItemAccessor>> accessorsByKey = new ConcurrentHashMap<>();
 
 	public ConfigInvocationHandler(ConfigManager manager)
 	{
@@ -44,54 +60,20 @@ class ConfigInvocationHandler implements InvocationHandler
 	@Override
 	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
 	{
-		Class<?> iface = proxy.getClass().getInterfaces()[0];
-
-		ConfigGroup group = iface.getAnnotation(ConfigGroup.class);
-		ConfigItem item = method.getAnnotation(ConfigItem.class);
-
-		if (group == null)
-		{
-			log.warn("Configuration proxy class {} has no @ConfigGroup!", proxy.getClass());
-			return null;
-		}
-
-		if (item == null)
+		ConfigItemAccessor accessor = accessors.get(method);
+		if (accessor == null)
 		{
-			log.warn("Configuration method {} has no @ConfigItem!", method);
-			return null;
+			accessor = createAccessor(proxy, method);
+			if (accessor == null)
+			{
+				return null;
+			}
 		}
 
 		if (args == null)
 		{
 			// Getting configuration item
-			String value = manager.getConfiguration(group.value(), item.keyName());
-
-			if (value == null)
-			{
-				if (method.isDefault())
-				{
-					return callDefaultMethod(proxy, method, null);
-				}
-
-				return null;
-			}
-
-			// Convert value to return type
-			Class<?> returnType = method.getReturnType();
-			
-			try
-			{
-				return ConfigManager.stringToObject(value, returnType);
-			}
-			catch (Exception e)
-			{
-				log.warn("Unable to unmarshal {}.{} ", group.value(), item.keyName(), e);
-				if (method.isDefault())
-				{
-					return callDefaultMethod(proxy, method, null);
-				}
-				return null;
-			}
+			return accessor.get(proxy);
 		}
 		else
 		{
@@ -105,7 +87,7 @@ class ConfigInvocationHandler implements InvocationHandler
 			Object newValue = args[0];
 
 			Class<?> type = method.getParameterTypes()[0];
-			Object oldValue = manager.getConfiguration(group.value(), item.keyName(), type);
+			Object oldValue = manager.getConfiguration(accessor.group, accessor.key, type);
 
 			if (Objects.equals(oldValue, newValue))
 			{
@@ -113,32 +95,91 @@ class ConfigInvocationHandler implements InvocationHandler
 				return null;
 			}
 
-			if (method.isDefault())
+			if (accessor.defaultMethod != null)
 			{
-				Object defaultValue = callDefaultMethod(proxy, method, args);
+				Object defaultValue = accessor.callDefault(proxy, args);
 
 				if (Objects.equals(newValue, defaultValue))
 				{
 					// Just unset if it goes back to the default
-					manager.unsetConfiguration(group.value(), item.keyName());
+					manager.unsetConfiguration(accessor.group, accessor.key);
 					return null;
 				}
 			}
 
 			if (newValue == null)
 			{
-				manager.unsetConfiguration(group.value(), item.keyName());
+				manager.unsetConfiguration(accessor.group, accessor.key);
 			}
 			else
 			{
 				String newValueStr = ConfigManager.objectToString(newValue);
-				manager.setConfiguration(group.value(), item.keyName(), newValueStr);
+				manager.setConfiguration(accessor.group, accessor.key, newValueStr);
 			}
 			return null;
 		}
 	}
 
+	private ConfigItemAccessor createAccessor(Object proxy, Method method) throws ReflectiveOperationException
+	{
+		Class<?> iface = proxy.getClass().getInterfaces()[0];
+
+		ConfigGroup group = iface.getAnnotation(ConfigGroup.class);
+		ConfigItem item = method.getAnnotation(ConfigItem.class);
+
+		if (group == null)
+		{
+			log.warn("Configuration proxy class {} has no @ConfigGroup!", proxy.getClass());
+			return null;
+		}
+
+		if (item == null)
+		{
+			log.warn("Configuration method {} has no @ConfigItem!", method);
+			return null;
+		}
+
+		ConfigItemAccessor accessor = new ConfigItemAccessor(group.value(), item.keyName(), method);
+		ConfigItemAccessor existing = accessors.putIfAbsent(method, accessor);
+		if (existing != null)
+		{
+			return existing;
+		}
+
+		accessorsByKey.computeIfAbsent(group.value() + "." + item.keyName(), k -> ConcurrentHashMap.newKeySet())
+			.add(accessor);
+		return accessor;
+	}
+
+	/**
+	 * Discard cached values for a configuration key. Must be called after
+	 * the value of the key changes.
+	 */
+	void invalidate(String groupName, String key)
+	{
+		Set<ConfigItemAccessor> keyAccessors = accessorsByKey.get(groupName + "." + key);
+		if (keyAccessors != null)
+		{
+			keyAccessors.forEach(ConfigItemAccessor::invalidate);
+		}
+	}
+
+	/**
+	 * Discard all cached values
+	 */
+	void invalidateAll()
+	{
+		accessors.values().forEach(ConfigItemAccessor::invalidate);
+	}
+
 	static Object callDefaultMethod(Object proxy, Method method, Object[] args) throws Throwable
+	{
+		return findDefaultMethod(method)
+			.bindTo(proxy)
+			.invokeWithArguments(args);
+	}
+
+	private static MethodHandle findDefaultMethod(Method method) throws ReflectiveOperationException
 	{
 		// Call the default method implementation - https://rmannibucau.wordpress.com/2014/03/27/java-8-default-interface-methods-and-jdk-dynamic-proxies/
 		Constructor<MethodHandles.Lookup> constructor = MethodHandles.Lookup.class.getDeclaredConstructor(Class.class, int.class);
@@ -146,8 +187,123 @@ class ConfigInvocationHandler implements InvocationHandler
 
 		Class<?> declaringClass = method.getDeclaringClass();
 		return constructor.newInstance(declaringClass, MethodHandles.Lookup.PUBLIC | MethodHandles.Lookup.PRIVATE)
-			.unreflectSpecial(method, declaringClass)
-			.bindTo(proxy)
-			.invokeWithArguments(args);
+			.unreflectSpecial(method, declaringClass);
+	}
+
+	/**
+	 * The resolved group and key of a configuration method, its default
+	 * method handle, and the parsed value of the key.
+	 */
+	private class ConfigItemAccessor
+	{
+		private final String group;
+		private final String key;
+		private final Class<?> returnType;
+		private final MethodHandle defaultMethod;
+		// the default method, as (Object)Object, for getters
+		private final MethodHandle defaultGetter;
+		private final boolean mutable;
+
+		private volatile Object value = UNREAD;
+		private int version;
+
+		ConfigItemAccessor(String group, String key, Method method) throws ReflectiveOperationException
+		{
+			this.group = group;
+			this.key = key;
+			this.returnType = method.getReturnType();
+			this.defaultMethod = method.isDefault() ? findDefaultMethod(method) : null;
+			this.defaultGetter = defaultMethod != null && method.getParameterCount() == 0
+				? defaultMethod.asType(MethodType.methodType(Object.class, Object.class))
+				: null;
+			this.mutable = returnType == Dimension.class || returnType == Point.class || returnType == Rectangle.class;
+		}
+
+		Object get(Object proxy) throws Throwable
+		{
+			Object v = value;
+			if (v == UNREAD)
+			{
+				v = read();
+			}
+
+			if (v == DEFAULT)
+			{
+				return defaultMethod != null ? callDefault(proxy, null) : null;
+			}
+
+			if (mutable)
+			{
+				// don't share mutable values between callers
+				if (v instanceof Dimension)
+				{
+					return ((Dimension) v).clone();
+				}
+				if (v instanceof Point)
+				{
+					return ((Point) v).clone();
+				}
+				if (v instanceof Rectangle)
+				{
+					return ((Rectangle) v).clone();
+				}
+			}
+
+			return v;
+		}
+
+		private Object read()
+		{
+			int stamp;
+			synchronized (this)
+			{
+				stamp = version;
+			}
+
+			Object v;
+			String str = manager.getConfiguration(group, key);
+			if (str == null)
+			{
+				v = DEFAULT;
+			}
+			else
+			{
+				try
+				{
+					v = ConfigManager.stringToObject(str, returnType);
+				}
+				catch (Exception e)
+				{
+					log.warn("Unable to unmarshal {}.{} ", group, key, e);
+					v = DEFAULT;
+				}
+			}
+
+			synchronized (this)
+			{
+				// don't cache the value if the key changed while it was being read
+				if (version == stamp)
+				{
+					value = v;
+				}
+			}
+
+			return v;
+		}
+
+		synchronized void invalidate()
+		{
+			++version;
+			value = UNREAD;
+		}
+
+		Object callDefault(Object proxy, Object[] args) throws Throwable
+		{
+			if (args == null && defaultGetter != null)
+			{
+				return (Object) defaultGetter.invokeExact(proxy);
+			}
+			return defaultMethod.bindTo(proxy).invokeWithArguments(args);
+		}
 	}
 }
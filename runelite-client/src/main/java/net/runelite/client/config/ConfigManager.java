@@ -41,9 +41,12 @@ import java.io.OutputStreamWriter;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Proxy;
-import java.nio.channels.FileLock;
 import java.nio.charset.Charset;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -51,7 +54,9 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -69,6 +74,8 @@ import net.runelite.http.api.config.Configuration;
 public class ConfigManager
 {
 	private static final String SETTINGS_FILE_NAME = "settings.properties";
+	// how long to wait for more changes before saving the settings file
+	private static final long SAVE_DELAY_MS = 500;
 
 	@Inject
 	EventBus eventBus;
@@ -83,6 +90,10 @@ public class ConfigManager
 	private final Properties properties = new Properties();
 	private final Map<String, String> pendingChanges = new HashMap<>();
 
+	private final Object saveLock = new Object();
+	private ScheduledFuture<?> pendingSave; // guarded by saveLock
+	private final AtomicInteger coalescedSaves = new AtomicInteger();
+
 	@Inject
 	public ConfigManager(ScheduledExecutorService scheduledExecutorService)
 	{
@@ -94,6 +105,9 @@ public class ConfigManager
 
 	public final void switchSession(AccountSession session)
 	{
+		// save any changes to the previous profile
+		flush();
+
 		if (session == null)
 		{
 			this.session = null;
@@ -153,6 +167,7 @@ public class ConfigManager
 		}
 
 		properties.clear();
+		handler.invalidateAll();
 
 		for (ConfigEntry entry : configuration.getConfig())
 		{
@@ -162,6 +177,7 @@ public class ConfigManager
 			final String key = split[1];
 			final String value = entry.getValue();
 			final String oldValue = (String) properties.setProperty(entry.getKey(), value);
+			handler.invalidate(groupName, key);
 
 			ConfigChanged configChanged = new ConfigChanged();
 			configChanged.setGroup(groupName);
@@ -200,6 +216,8 @@ public class ConfigManager
 			log.warn("Unable to load settings", ex);
 		}
 
+		handler.invalidateAll();
+
 		try
 		{
 			Map<String, String> copy = (Map) ImmutableMap.copyOf(properties);
@@ -232,21 +250,94 @@ public class ConfigManager
 
 	private synchronized void saveToFile() throws IOException
 	{
-		propertiesFile.getParentFile().mkdirs();
+		File parent = propertiesFile.getParentFile();
+		parent.mkdirs();
 
-		try (FileOutputStream out = new FileOutputStream(propertiesFile))
+		// write to a temporary file and move it into place, so the settings
+		// file is never seen partially written
+		File tmpFile = File.createTempFile(SETTINGS_FILE_NAME, ".tmp", parent);
+		try
 		{
-			final FileLock lock = out.getChannel().lock();
+			try (FileOutputStream out = new FileOutputStream(tmpFile))
+			{
+				properties.store(new OutputStreamWriter(out, Charset.forName("UTF-8")), "RuneLite configuration");
+			}
 
 			try
 			{
-				properties.store(new OutputStreamWriter(out, Charset.forName("UTF-8")), "RuneLite configuration");
+				Files.move(tmpFile.toPath(), propertiesFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			}
+			catch (AtomicMoveNotSupportedException ex)
+			{
+				Files.move(tmpFile.toPath(), propertiesFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+		finally
+		{
+			tmpFile.delete();
+		}
+	}
+
+	/**
+	 * Save the settings file after a short delay, so that changes made
+	 * together are written together
+	 */
+	private void scheduleSave()
+	{
+		synchronized (saveLock)
+		{
+			if (pendingSave != null)
+			{
+				coalescedSaves.incrementAndGet();
+				return;
 			}
-			finally
+
+			pendingSave = executor.schedule(this::save, SAVE_DELAY_MS, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	private void save()
+	{
+		synchronized (saveLock)
+		{
+			// changes from here on need another save
+			pendingSave = null;
+		}
+
+		try
+		{
+			saveToFile();
+		}
+		catch (IOException ex)
+		{
+			log.warn("unable to save configuration file", ex);
+		}
+	}
+
+	/**
+	 * Save any changes which are waiting to be saved to the settings file now
+	 */
+	public void flush()
+	{
+		synchronized (saveLock)
+		{
+			if (pendingSave == null || !pendingSave.cancel(false))
 			{
-				lock.release();
+				// nothing pending, or it is already saving
+				return;
 			}
 		}
+
+		save();
+	}
+
+	/**
+	 * Get the number of changes which were saved along with an earlier change,
+	 * rather than by their own write of the settings file
+	 */
+	public int getCoalescedSaves()
+	{
+		return coalescedSaves.get();
 	}
 
 	public <T> T getConfig(Class<T> clazz)
@@ -302,23 +393,14 @@ public class ConfigManager
 			return;
 		}
 
+		handler.invalidate(groupName, key);
+
 		synchronized (pendingChanges)
 		{
 			pendingChanges.put(groupName + "." + key, value);
 		}
 
-		Runnable task = () ->
-		{
-			try
-			{
-				saveToFile();
-			}
-			catch (IOException ex)
-			{
-				log.warn("unable to save configuration file", ex);
-			}
-		};
-		executor.execute(task);
+		scheduleSave();
 
 		ConfigChanged configChanged = new ConfigChanged();
 		configChanged.setGroup(groupName);
@@ -345,23 +427,14 @@ public class ConfigManager
 			return;
 		}
 
+		handler.invalidate(groupName, key);
+
 		synchronized (pendingChanges)
 		{
 			pendingChanges.put(groupName + "." + key, null);
 		}
 
-		Runnable task = () ->
-		{
-			try
-			{
-				saveToFile();
-			}
-			catch (IOException ex)
-			{
-				log.warn("unable to save configuration file", ex);
-			}
-		};
-		executor.execute(task);
+		scheduleSave();
 
 		ConfigChanged configChanged = new ConfigChanged();
 		configChanged.setGroup(groupName);
@@ -563,26 +636,47 @@ public class ConfigManager
 
 	public void sendConfig()
 	{
+		ConfigClient client;
+		Map<String, String> changes;
+
 		synchronized (pendingChanges)
 		{
-			if (client != null)
+			client = this.client;
+			if (client == null || pendingChanges.isEmpty())
 			{
-				for (Map.Entry<String, String> entry : pendingChanges.entrySet())
-				{
-					String key = entry.getKey();
-					String value = entry.getValue();
+				pendingChanges.clear();
+				return;
+			}
 
-					if (Strings.isNullOrEmpty(value))
-					{
-						client.unset(key);
-					}
-					else
-					{
-						client.set(key, value);
-					}
+			changes = new HashMap<>(pendingChanges);
+			pendingChanges.clear();
+		}
+
+		List<ConfigEntry> entries = new ArrayList<>(changes.size());
+		for (Map.Entry<String, String> change : changes.entrySet())
+		{
+			ConfigEntry entry = new ConfigEntry();
+			entry.setKey(change.getKey());
+			entry.setValue(Strings.emptyToNull(change.getValue()));
+			entries.add(entry);
+		}
+
+		try
+		{
+			client.patch(entries);
+		}
+		catch (IOException ex)
+		{
+			log.warn("Unable to synchronize configuration, will retry", ex);
+
+			synchronized (pendingChanges)
+			{
+				if (this.client == client)
+				{
+					// retry the whole batch, except for keys which have changed since
+					changes.forEach(pendingChanges::putIfAbsent);
 				}
 			}
-			pendingChanges.clear();
 		}
 	}
 }
@@ -26,9 +26,6 @@
 package net.runelite.client.eventbus;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.HashMultimap;
-import com.google.common.collect.ImmutableMultimap;
-import com.google.common.collect.Multimap;
 import java.lang.invoke.CallSite;
 import java.lang.invoke.LambdaMetafactory;
 import java.lang.invoke.MethodHandle;
@@ -38,13 +35,24 @@ import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.ThreadSafe;
 import lombok.EqualsAndHashCode;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.profiler.Profiler;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -78,8 +86,56 @@ public class EventBus
 		}
 	}
 
+	/**
+	 * The subscribers and dispatch statistics of one event class
+	 */
+	private static class EventSlot
+	{
+		private final Class<?> type;
+		// copy on write, replaced on register and unregister
+		private volatile Subscriber[] subscribers = EMPTY;
+
+		private final LongAdder posts = new LongAdder();
+		private final LongAdder nanos = new LongAdder();
+		private final LongAdder exceptions = new LongAdder();
+
+		EventSlot(Class<?> type)
+		{
+			this.type = type;
+		}
+	}
+
+	/**
+	 * Dispatch statistics of an event class
+	 */
+	@Value
+	public static class EventStats
+	{
+		private final Class<?> type;
+		private final int subscribers;
+		private final long posts;
+		private final long nanos;
+		private final long exceptions;
+	}
+
+	private static final Subscriber[] EMPTY = new Subscriber[0];
+
 	private final Consumer<Throwable> exceptionHandler;
-	private ImmutableMultimap<Class, Subscriber> subscribers = ImmutableMultimap.of();
+	@Setter
+	private Profiler profiler;
+	// all slots, in the order their event classes were first seen
+	private final List<EventSlot> slotList = new CopyOnWriteArrayList<>();
+	// the slot of each event class, looked up without hashing on post
+	private final ClassValue<EventSlot> slots = new ClassValue<EventSlot>()
+	{
+		@Override
+		protected EventSlot computeValue(Class<?> type)
+		{
+			EventSlot slot = new EventSlot(type);
+			slotList.add(slot);
+			return slot;
+		}
+	};
 
 	/**
 	 * Instantiates EventBus with default exception handler
@@ -98,13 +154,41 @@ public class EventBus
 	 */
 	public synchronized void register(@Nonnull final Object object)
 	{
-		final ImmutableMultimap.Builder<Class, Subscriber> builder = ImmutableMultimap.builder();
+		registerAll(Collections.singletonList(object));
+	}
 
-		if (subscribers != null)
+	/**
+	 * Registers many subscribers at once. Each event's subscriber array is replaced once for the
+	 * whole batch, rather than once per subscriber.
+	 *
+	 * @param objects subscribers to register, in order
+	 * @throws IllegalArgumentException in case any subscriber method is invalid, in which case none are registered
+	 */
+	public synchronized void registerAll(@Nonnull final Collection<?> objects)
+	{
+		// validate everything before adding anything, so a bad subscriber is not partially registered
+		final Map<EventSlot, List<Subscriber>> added = new LinkedHashMap<>();
+
+		for (final Object object : objects)
 		{
-			builder.putAll(subscribers);
+			addSubscribers(object, added);
 		}
 
+		for (final Map.Entry<EventSlot, List<Subscriber>> entry : added.entrySet())
+		{
+			final EventSlot slot = entry.getKey();
+			final List<Subscriber> addedSubscribers = entry.getValue();
+			final Subscriber[] subscribers = Arrays.copyOf(slot.subscribers, slot.subscribers.length + addedSubscribers.size());
+			for (int i = 0; i < addedSubscribers.size(); ++i)
+			{
+				subscribers[slot.subscribers.length + i] = addedSubscribers.get(i);
+			}
+			slot.subscribers = subscribers;
+		}
+	}
+
+	private void addSubscribers(final Object object, final Map<EventSlot, List<Subscriber>> added)
+	{
 		for (Class<?> clazz = object.getClass(); clazz != null; clazz = clazz.getSuperclass())
 		{
 			for (final Method method : clazz.getDeclaredMethods())
@@ -127,7 +211,8 @@ public class EventBus
 
 				for (Class<?> psc = parameterClazz.getSuperclass(); psc != null; psc = psc.getSuperclass())
 				{
-					if (subscribers.containsKey(psc))
+					final EventSlot superSlot = slots.get(psc);
+					if (superSlot.subscribers.length > 0 || added.containsKey(superSlot))
 					{
 						throw new IllegalArgumentException("@Subscribed method \"" + method + "\" cannot subscribe to class which inherits from subscribed class \"" + psc + "\"");
 					}
@@ -161,12 +246,10 @@ public class EventBus
 				}
 
 				final Subscriber subscriber = new Subscriber(object, method, lambda);
-				builder.put(parameterClazz, subscriber);
+				added.computeIfAbsent(slots.get(parameterClazz), k -> new ArrayList<>()).add(subscriber);
 				log.debug("Registering {} - {}", parameterClazz, subscriber);
 			}
 		}
-
-		subscribers = builder.build();
 	}
 
 	/**
@@ -176,31 +259,34 @@ public class EventBus
 	 */
 	public synchronized void unregister(@Nonnull final Object object)
 	{
-		if (subscribers == null)
-		{
-			return;
-		}
-
-		final Multimap<Class, Subscriber> map = HashMultimap.create();
-		map.putAll(subscribers);
-
 		for (Class<?> clazz = object.getClass(); clazz != null; clazz = clazz.getSuperclass())
 		{
 			for (final Method method : clazz.getDeclaredMethods())
 			{
 				final Subscribe sub = method.getAnnotation(Subscribe.class);
 
-				if (sub == null)
+				if (sub == null || method.getParameterCount() != 1)
 				{
 					continue;
 				}
 
-				final Class<?> parameterClazz = method.getParameterTypes()[0];
-				map.remove(parameterClazz, new Subscriber(object, method, null));
+				final EventSlot slot = slots.get(method.getParameterTypes()[0]);
+				final Subscriber removed = new Subscriber(object, method, null);
+				final Subscriber[] subscribers = slot.subscribers;
+
+				for (int i = 0; i < subscribers.length; ++i)
+				{
+					if (subscribers[i].equals(removed))
+					{
+						final Subscriber[] newSubscribers = new Subscriber[subscribers.length - 1];
+						System.arraycopy(subscribers, 0, newSubscribers, 0, i);
+						System.arraycopy(subscribers, i + 1, newSubscribers, i, subscribers.length - i - 1);
+						slot.subscribers = newSubscribers;
+						break;
+					}
+				}
 			}
 		}
-
-		subscribers = ImmutableMultimap.copyOf(map);
 	}
 
 	/**
@@ -211,17 +297,55 @@ public class EventBus
 	 */
 	public void post(@Nonnull final Object event)
 	{
-		for (final Subscriber subscriber : subscribers.get(event.getClass()))
+		final EventSlot slot = slots.get(event.getClass());
+		final Subscriber[] subscribers = slot.subscribers;
+		final Profiler profiler = this.profiler;
+		final boolean profiling = profiler != null && profiler.isEnabled();
+		final long start = System.nanoTime();
+
+		for (final Subscriber subscriber : subscribers)
 		{
+			final long subscriberStart = profiling ? System.nanoTime() : 0L;
+
 			try
 			{
 				subscriber.invoke(event);
 			}
 			catch (Exception e)
 			{
+				slot.exceptions.increment();
 				exceptionHandler.accept(e);
 			}
+
+			if (profiling)
+			{
+				profiler.record(Profiler.Section.SUBSCRIBER, subscriber.getMethod(), System.nanoTime() - subscriberStart);
+			}
+		}
+
+		slot.nanos.add(System.nanoTime() - start);
+		slot.posts.increment();
+	}
+
+	/**
+	 * Get the dispatch statistics of every event class which has been posted or subscribed to
+	 *
+	 * @return the statistics, in the order the event classes were first seen
+	 */
+	public List<EventStats> getEventStats()
+	{
+		final List<EventStats> stats = new ArrayList<>();
+		for (EventSlot slot : slotList)
+		{
+			final long posts = slot.posts.sum();
+			if (posts == 0 && slot.subscribers.length == 0)
+			{
+				continue;
+			}
+
+			stats.add(new EventStats(slot.type, slot.subscribers.length, posts, slot.nanos.sum(), slot.exceptions.sum()));
 		}
+		return stats;
 	}
 
 	private static MethodHandles.Lookup privateLookupIn(Class clazz) throws IllegalAccessException, NoSuchFieldException, InvocationTargetException
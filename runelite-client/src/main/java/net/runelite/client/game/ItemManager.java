@@ -31,7 +31,6 @@ import com.google.common.collect.ImmutableMap;
 import java.awt.Color;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -84,6 +83,7 @@ public class ItemManager
 
 	private final ItemClient itemClient = new ItemClient();
 	private Map<Integer, ItemPrice> itemPrices = Collections.emptyMap();
+	private volatile ItemSearchIndex searchIndex = ItemSearchIndex.EMPTY;
 	private Map<String, ItemStats> itemStats = Collections.emptyMap();
 	private final LoadingCache<ImageKey, AsyncBufferedImage> itemImages;
 	private final LoadingCache<Integer, ItemComposition> itemCompositions;
@@ -212,6 +212,7 @@ public class ItemManager
 					map.put(price.getId(), price);
 				}
 				itemPrices = map.build();
+				searchIndex = new ItemSearchIndex(itemPrices.values());
 			}
 
 			log.debug("Loaded {} prices", itemPrices.size());
@@ -318,18 +319,33 @@ public class ItemManager
 	 */
 	public List<ItemPrice> search(String itemName)
 	{
-		itemName = itemName.toLowerCase();
+		return searchIndex.search(itemName, Integer.MAX_VALUE);
+	}
 
-		List<ItemPrice> result = new ArrayList<>();
-		for (ItemPrice itemPrice : itemPrices.values())
-		{
-			final String name = itemPrice.getName();
-			if (name.toLowerCase().contains(itemName))
-			{
-				result.add(itemPrice);
-			}
-		}
-		return result;
+	/**
+	 * Search for tradeable items based on item name, best matches first. Exact matches
+	 * rank first, then names starting with the search, then names with a word starting
+	 * with it, then any other name containing it.
+	 *
+	 * @param itemName item name
+	 * @param limit maximum number of results
+	 * @return the matching items
+	 */
+	public List<ItemPrice> search(String itemName, int limit)
+	{
+		return searchIndex.searchRanked(itemName, limit);
+	}
+
+	/**
+	 * Search for tradeable items whose name starts with the given name
+	 *
+	 * @param itemName item name prefix
+	 * @param limit maximum number of results
+	 * @return the matching items, in name order
+	 */
+	public List<ItemPrice> searchPrefix(String itemName, int limit)
+	{
+		return searchIndex.searchPrefix(itemName, limit);
 	}
 
 	/**
@@ -373,7 +389,8 @@ public class ItemManager
 	private AsyncBufferedImage loadImage(int itemId, int quantity, boolean stackable)
 	{
 		AsyncBufferedImage img = new AsyncBufferedImage(36, 32, BufferedImage.TYPE_INT_ARGB);
-		clientThread.invoke(() ->
+		// queued at low priority so that many uncached images are spread over several frames
+		clientThread.invokeLater(() ->
 		{
 			if (client.getGameState().ordinal() < GameState.LOGIN_SCREEN.ordinal())
 			{
@@ -388,7 +405,7 @@ public class ItemManager
 			sprite.toBufferedImage(img);
 			img.changed();
 			return true;
-		});
+		}, ClientThread.Priority.LOW);
 		return img;
 	}
 
@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.game;
+
+import com.google.common.primitives.Ints;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import net.runelite.http.api.item.ItemPrice;
+
+/**
+ * An immutable search index over item names. Substring queries are narrowed with a trigram
+ * index, and prefix queries use a name-sorted array.
+ */
+class ItemSearchIndex
+{
+	static final ItemSearchIndex EMPTY = new ItemSearchIndex(Collections.emptyList());
+
+	private static final int GRAM = 3;
+	private static final int[] NONE = new int[0];
+
+	// ranks, best first
+	private static final int RANK_EXACT = 0;
+	private static final int RANK_PREFIX = 1;
+	private static final int RANK_WORD = 2;
+	private static final int RANK_SUBSTRING = 3;
+
+	private final ItemPrice[] items;
+	private final String[] names;
+	// item indexes ordered by name
+	private final int[] sorted;
+	// item indexes containing each trigram, ascending
+	private final Map<Long, int[]> grams;
+
+	ItemSearchIndex(Collection<ItemPrice> prices)
+	{
+		items = prices.toArray(new ItemPrice[0]);
+		names = new String[items.length];
+
+		final Map<Long, List<Integer>> postings = new HashMap<>();
+		for (int i = 0; i < items.length; ++i)
+		{
+			final String name = items[i].getName().toLowerCase();
+			names[i] = name;
+
+			for (int j = 0; j + GRAM <= name.length(); ++j)
+			{
+				final List<Integer> list = postings.computeIfAbsent(gram(name, j), k -> new ArrayList<>());
+				// skip trigrams which repeat within a name
+				if (list.isEmpty() || list.get(list.size() - 1) != i)
+				{
+					list.add(i);
+				}
+			}
+		}
+
+		grams = new HashMap<>(postings.size() * 4 / 3 + 1);
+		postings.forEach((gram, list) -> grams.put(gram, Ints.toArray(list)));
+
+		final Integer[] order = new Integer[items.length];
+		for (int i = 0; i < order.length; ++i)
+		{
+			order[i] = i;
+		}
+		Arrays.sort(order, (a, b) -> names[a].compareTo(names[b]));
+		sorted = Ints.toArray(Arrays.asList(order));
+	}
+
+	int size()
+	{
+		return items.length;
+	}
+
+	/**
+	 * Find items whose name contains the query, in index order
+	 */
+	List<ItemPrice> search(String query, int limit)
+	{
+		final String q = query.toLowerCase();
+		final int[] candidates = candidates(q);
+		final List<ItemPrice> result = new ArrayList<>();
+
+		final int count = candidates == null ? names.length : candidates.length;
+		for (int c = 0; c < count && result.size() < limit; ++c)
+		{
+			final int i = candidates == null ? c : candidates[c];
+			if (names[i].contains(q))
+			{
+				result.add(items[i]);
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Find items whose name starts with the query, in name order
+	 */
+	List<ItemPrice> searchPrefix(String query, int limit)
+	{
+		final String q = query.toLowerCase();
+		final List<ItemPrice> result = new ArrayList<>();
+
+		for (int s = lowerBound(q); s < sorted.length && result.size() < limit && names[sorted[s]].startsWith(q); ++s)
+		{
+			result.add(items[sorted[s]]);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Find items whose name contains the query. Exact matches come first, then names starting with
+	 * the query, then names with a word starting with the query, then other matches. Shorter names
+	 * are ranked first within each group.
+	 */
+	List<ItemPrice> searchRanked(String query, int limit)
+	{
+		final String q = query.toLowerCase();
+		final int[] candidates = candidates(q);
+		final int count = candidates == null ? names.length : candidates.length;
+
+		// rank, name length and index packed into one long, so matches sort without boxing
+		long[] matches = new long[Math.min(count, 64)];
+		int matched = 0;
+
+		for (int c = 0; c < count; ++c)
+		{
+			final int i = candidates == null ? c : candidates[c];
+			final String name = names[i];
+			final int idx = name.indexOf(q);
+			if (idx == -1)
+			{
+				continue;
+			}
+
+			final int rank;
+			if (idx == 0)
+			{
+				rank = name.length() == q.length() ? RANK_EXACT : RANK_PREFIX;
+			}
+			else
+			{
+				rank = name.charAt(idx - 1) == ' ' ? RANK_WORD : RANK_SUBSTRING;
+			}
+
+			if (matched == matches.length)
+			{
+				matches = Arrays.copyOf(matches, matched * 2);
+			}
+			matches[matched++] = (long) rank << 56 | (long) Math.min(name.length(), 0xFFFF) << 32 | i;
+		}
+
+		Arrays.sort(matches, 0, matched);
+
+		final List<ItemPrice> result = new ArrayList<>(Math.min(matched, limit));
+		for (int m = 0; m < matched && m < limit; ++m)
+		{
+			result.add(items[(int) matches[m]]);
+		}
+		return result;
+	}
+
+	/**
+	 * Get the items which may contain the query, or null if every item must be checked
+	 */
+	private int[] candidates(String q)
+	{
+		if (q.length() < GRAM)
+		{
+			return null;
+		}
+
+		// the rarest trigram of the query gives the fewest candidates
+		int[] best = null;
+		for (int j = 0; j + GRAM <= q.length(); ++j)
+		{
+			final int[] postings = grams.get(gram(q, j));
+			if (postings == null)
+			{
+				return NONE;
+			}
+
+			if (best == null || postings.length < best.length)
+			{
+				best = postings;
+			}
+		}
+		return best;
+	}
+
+	private int lowerBound(String q)
+	{
+		int lo = 0;
+		int hi = sorted.length;
+		while (lo < hi)
+		{
+			final int mid = (lo + hi) >>> 1;
+			if (names[sorted[mid]].compareTo(q) < 0)
+			{
+				lo = mid + 1;
+			}
+			else
+			{
+				hi = mid;
+			}
+		}
+		return lo;
+	}
+
+	private static long gram(String s, int offset)
+	{
+		return (long) s.charAt(offset) << 32 | (long) s.charAt(offset + 1) << 16 | s.charAt(offset + 2);
+	}
+}
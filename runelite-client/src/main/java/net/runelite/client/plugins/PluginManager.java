@@ -33,22 +33,40 @@ import com.google.common.graph.Graphs;
 import com.google.common.graph.MutableGraph;
 import com.google.common.reflect.ClassPath;
 import com.google.common.reflect.ClassPath.ClassInfo;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Binder;
 import com.google.inject.CreationException;
 import com.google.inject.Injector;
 import com.google.inject.Key;
 import com.google.inject.Module;
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -56,6 +74,7 @@ import javax.inject.Provider;
 import javax.inject.Singleton;
 import javax.swing.SwingUtilities;
 import lombok.Setter;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.events.SessionClose;
 import net.runelite.api.events.SessionOpen;
@@ -81,6 +100,26 @@ public class PluginManager
 	 */
 	private static final String PLUGIN_PACKAGE = "net.runelite.client.plugins";
 
+	/**
+	 * Index of the plugins in a jar, written by the plugin processor
+	 */
+	private static final String PLUGIN_INDEX = "META-INF/runelite/plugins";
+
+	@Value
+	private static class PluginEntry
+	{
+		private final String className;
+		private final boolean loadWhenOutdated;
+		private final boolean developerPlugin;
+		private final List<String> dependencies;
+	}
+
+	private static class StartupTiming
+	{
+		private long instantiateNanos;
+		private long startNanos;
+	}
+
 	private final boolean developerMode;
 	private final EventBus eventBus;
 	private final Scheduler scheduler;
@@ -89,6 +128,12 @@ public class PluginManager
 	private final Provider<GameEventManager> sceneTileManager;
 	private final List<Plugin> plugins = new CopyOnWriteArrayList<>();
 	private final List<Plugin> activePlugins = new CopyOnWriteArrayList<>();
+	/**
+	 * Core plugins grouped by their depth in the dependency graph, so each level depends only on
+	 * the levels before it
+	 */
+	private final List<List<Plugin>> corePluginLevels = new ArrayList<>();
+	private final Map<Plugin, StartupTiming> startupTimings = new ConcurrentHashMap<>();
 	private final String runeliteGroupName = RuneLiteConfig.class
 			.getAnnotation(ConfigGroup.class).value();
 
@@ -194,81 +239,172 @@ public class PluginManager
 
 	public void loadCorePlugins() throws IOException
 	{
-		plugins.addAll(scanAndInstantiate(getClass().getClassLoader(), PLUGIN_PACKAGE));
+		final long start = System.nanoTime();
+		final List<List<Plugin>> levels = scanAndInstantiate(getClass().getClassLoader(), PLUGIN_PACKAGE);
+		corePluginLevels.addAll(levels);
+		levels.forEach(plugins::addAll);
+		log.info("Loaded {} plugins in {} levels in {}ms", plugins.size(), levels.size(),
+			TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
 	}
 
-	public void startCorePlugins()
+	/**
+	 * Start the core plugins, one level of the dependency graph at a time with one hop to the
+	 * event thread per level. Each level's subscribers are registered together once the level
+	 * has started, so they receive events posted by the later levels' startUp.
+	 */
+	public synchronized void startCorePlugins()
 	{
-		List<Plugin> scannedPlugins = new ArrayList<>(plugins);
-		for (Plugin plugin : scannedPlugins)
+		final long start = System.nanoTime();
+		long registerNanos = 0;
+		final List<Plugin> started = new ArrayList<>();
+
+		// plugins added outside of loadCorePlugins start last, after the whole graph
+		final List<List<Plugin>> levels = new ArrayList<>(corePluginLevels);
+		levels.add(plugins.stream()
+			.filter(plugin -> corePluginLevels.stream().noneMatch(level -> level.contains(plugin)))
+			.collect(Collectors.toList()));
+
+		for (List<Plugin> level : levels)
 		{
-			try
+			final List<Plugin> toStart = level.stream()
+				.filter(plugin -> plugins.contains(plugin) && !activePlugins.contains(plugin) && isPluginEnabled(plugin))
+				.collect(Collectors.toList());
+			if (toStart.isEmpty())
 			{
-				startPlugin(plugin);
+				continue;
 			}
-			catch (PluginInstantiationException ex)
+
+			activePlugins.addAll(toStart);
+
+			final List<Plugin> failed = startUp(toStart);
+			activePlugins.removeAll(failed);
+			plugins.removeAll(failed);
+			toStart.removeAll(failed);
+
+			if (!isOutdated && sceneTileManager != null)
 			{
-				log.warn("Unable to start plugin {}. {}", plugin.getClass().getSimpleName(), ex);
-				plugins.remove(plugin);
+				final GameEventManager gameEventManager = this.sceneTileManager.get();
+				if (gameEventManager != null)
+				{
+					gameEventManager.simulateGameEvents(toStart);
+				}
+			}
+
+			final long registerStart = System.nanoTime();
+			register(toStart);
+			for (Plugin plugin : toStart)
+			{
+				schedule(plugin);
 			}
+			registerNanos += System.nanoTime() - registerStart;
+
+			for (Plugin plugin : toStart)
+			{
+				eventBus.post(new PluginChanged(plugin, true));
+			}
+
+			started.addAll(toStart);
 		}
+
+		logStartupTimings(started, System.nanoTime() - start, registerNanos);
 	}
 
-	List<Plugin> scanAndInstantiate(ClassLoader classLoader, String packageName) throws IOException
+	/**
+	 * Register the subscribers of started plugins in bulk, dropping any plugins with bad
+	 * subscribers as startPlugin would
+	 */
+	private void register(List<Plugin> started)
 	{
-		MutableGraph<Class<? extends Plugin>> graph = GraphBuilder
-			.directed()
-			.build();
-
-		List<Plugin> scannedPlugins = new ArrayList<>();
-		ClassPath classPath = ClassPath.from(classLoader);
-
-		ImmutableSet<ClassInfo> classes = packageName == null ? classPath.getAllClasses()
-			: classPath.getTopLevelClassesRecursive(packageName);
-		for (ClassInfo classInfo : classes)
+		try
 		{
-			Class<?> clazz = classInfo.load();
-			PluginDescriptor pluginDescriptor = clazz.getAnnotation(PluginDescriptor.class);
-
-			if (pluginDescriptor == null)
+			eventBus.registerAll(started);
+		}
+		catch (IllegalArgumentException ex)
+		{
+			for (Iterator<Plugin> it = started.iterator(); it.hasNext(); )
 			{
-				if (clazz.getSuperclass() == Plugin.class)
+				final Plugin plugin = it.next();
+				try
 				{
-					log.warn("Class {} is a plugin, but has no plugin descriptor",
-							clazz);
+					eventBus.register(plugin);
+				}
+				catch (IllegalArgumentException ex2)
+				{
+					log.warn("Unable to start plugin {}. {}", plugin.getClass().getSimpleName(), ex2);
+					activePlugins.remove(plugin);
+					plugins.remove(plugin);
+					it.remove();
 				}
-				continue;
 			}
+		}
+	}
 
-			if (clazz.getSuperclass() != Plugin.class)
+	private void logStartupTimings(List<Plugin> started, long totalNanos, long registerNanos)
+	{
+		if (!log.isDebugEnabled())
+		{
+			startupTimings.clear();
+			return;
+		}
+
+		final StringBuilder sb = new StringBuilder(String.format("Started %d plugins in %.1fms, %.1fms of which registering (instantiate / start):",
+			started.size(), totalNanos / 1e6, registerNanos / 1e6));
+
+		started.stream()
+			.filter(startupTimings::containsKey)
+			.sorted(Comparator.comparingLong((Plugin plugin) ->
 			{
-				log.warn("Class {} has plugin descriptor, but is not a plugin",
-						clazz);
-				continue;
-			}
+				final StartupTiming timing = startupTimings.get(plugin);
+				return timing.instantiateNanos + timing.startNanos;
+			}).reversed())
+			.forEach(plugin ->
+			{
+				final StartupTiming timing = startupTimings.get(plugin);
+				sb.append(String.format("%n  %-40s %8.1fms %8.1fms", plugin.getClass().getSimpleName(),
+					timing.instantiateNanos / 1e6, timing.startNanos / 1e6));
+			});
 
-			if (!pluginDescriptor.loadWhenOutdated() && isOutdated)
+		log.debug(sb.toString());
+		startupTimings.clear();
+	}
+
+	List<List<Plugin>> scanAndInstantiate(ClassLoader classLoader, String packageName) throws IOException
+	{
+		List<PluginEntry> entries = readIndex(classLoader, packageName);
+		if (entries == null)
+		{
+			log.debug("No plugin index found, scanning the classpath for plugins");
+			entries = scanClassPath(classLoader, packageName);
+		}
+
+		MutableGraph<String> graph = GraphBuilder
+			.directed()
+			.build();
+
+		for (PluginEntry entry : entries)
+		{
+			if (!entry.isLoadWhenOutdated() && isOutdated)
 			{
 				continue;
 			}
 
-			if (pluginDescriptor.developerPlugin() && !developerMode)
+			if (entry.isDeveloperPlugin() && !developerMode)
 			{
 				continue;
 			}
 
-			Class<Plugin> pluginClass = (Class<Plugin>) clazz;
-			graph.addNode(pluginClass);
+			graph.addNode(entry.getClassName());
 		}
 
 		// Build plugin graph
-		for (Class<? extends Plugin> pluginClazz : graph.nodes())
+		for (PluginEntry entry : entries)
 		{
-			PluginDependency[] pluginDependencies = pluginClazz.getAnnotationsByType(PluginDependency.class);
-
-			for (PluginDependency pluginDependency : pluginDependencies)
+			if (graph.nodes().contains(entry.getClassName()))
 			{
-				graph.putEdge(pluginClazz, pluginDependency.value());
+				for (String dependency : entry.getDependencies())
+				{
+					graph.putEdge(entry.getClassName(), dependency);
+				}
 			}
 		}
 
@@ -277,26 +413,185 @@ public class PluginManager
 			throw new RuntimeException("Plugin dependency graph contains a cycle!");
 		}
 
-		List<Class<? extends Plugin>> sortedPlugins = topologicalSort(graph);
+		List<String> sortedPlugins = topologicalSort(graph);
 		sortedPlugins = Lists.reverse(sortedPlugins);
 
-		for (Class<? extends Plugin> pluginClazz : sortedPlugins)
+		// plugins in the same level have no dependencies on each other, so can be created in parallel
+		final ExecutorService loader = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+			new ThreadFactoryBuilder()
+				.setNameFormat("plugin-loader-%d")
+				.setDaemon(true)
+				.build());
+
+		final List<Plugin> scannedPlugins = new ArrayList<>();
+		final List<List<Plugin>> levels = new ArrayList<>();
+		try
+		{
+			for (List<String> level : levels(graph, sortedPlugins))
+			{
+				final List<Plugin> loaded = Collections.unmodifiableList(new ArrayList<>(scannedPlugins));
+				final List<Future<Plugin>> futures = new ArrayList<>(level.size());
+
+				for (String pluginClassName : level)
+				{
+					final List<String> dependencies = new ArrayList<>(graph.successors(pluginClassName));
+					futures.add(loader.submit(() ->
+					{
+						final long start = System.nanoTime();
+						final Class<Plugin> pluginClazz = (Class<Plugin>) Class.forName(pluginClassName, true, classLoader);
+						final Plugin plugin = instantiate(loaded, pluginClazz, dependencies);
+						startupTimings.computeIfAbsent(plugin, k -> new StartupTiming()).instantiateNanos = System.nanoTime() - start;
+						return plugin;
+					}));
+				}
+
+				final List<Plugin> levelPlugins = new ArrayList<>(level.size());
+				for (Future<Plugin> future : futures)
+				{
+					try
+					{
+						levelPlugins.add(future.get());
+					}
+					catch (ExecutionException ex)
+					{
+						log.warn("Error instantiating plugin!", ex.getCause());
+					}
+				}
+
+				if (!levelPlugins.isEmpty())
+				{
+					scannedPlugins.addAll(levelPlugins);
+					levels.add(levelPlugins);
+				}
+			}
+		}
+		catch (InterruptedException ex)
+		{
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("interrupted instantiating plugins");
+		}
+		finally
 		{
-			Plugin plugin;
-			try
+			loader.shutdown();
+		}
+
+		return levels;
+	}
+
+	/**
+	 * Group plugins, sorted with dependencies first, by their depth in the dependency graph
+	 */
+	private static List<List<String>> levels(Graph<String> graph, List<String> sortedPlugins)
+	{
+		final Map<String, Integer> depth = new HashMap<>();
+		final List<List<String>> levels = new ArrayList<>();
+
+		for (String plugin : sortedPlugins)
+		{
+			int level = 0;
+			for (String dependency : graph.successors(plugin))
 			{
-				plugin = instantiate(scannedPlugins, (Class<Plugin>) pluginClazz);
+				level = Math.max(level, depth.get(dependency) + 1);
 			}
-			catch (PluginInstantiationException ex)
+			depth.put(plugin, level);
+
+			while (levels.size() <= level)
+			{
+				levels.add(new ArrayList<>());
+			}
+			levels.get(level).add(plugin);
+		}
+
+		return levels;
+	}
+
+	/**
+	 * Read the plugin indexes written by the plugin processor at compile time
+	 *
+	 * @return the indexed plugins in the package, or null if there is no index
+	 */
+	private static List<PluginEntry> readIndex(ClassLoader classLoader, String packageName) throws IOException
+	{
+		Enumeration<URL> indexes = classLoader.getResources(PLUGIN_INDEX);
+		if (!indexes.hasMoreElements())
+		{
+			return null;
+		}
+
+		List<PluginEntry> entries = new ArrayList<>();
+		while (indexes.hasMoreElements())
+		{
+			try (BufferedReader reader = new BufferedReader(new InputStreamReader(indexes.nextElement().openStream(), StandardCharsets.UTF_8)))
 			{
-				log.warn("Error instantiating plugin!", ex);
+				String line;
+				while ((line = reader.readLine()) != null)
+				{
+					if (line.isEmpty())
+					{
+						continue;
+					}
+
+					String[] fields = line.split("\t", -1);
+					String className = fields[0];
+					if (packageName != null && !className.startsWith(packageName + "."))
+					{
+						continue;
+					}
+
+					List<String> dependencies = fields[3].isEmpty()
+						? Collections.emptyList()
+						: Arrays.asList(fields[3].split(","));
+					entries.add(new PluginEntry(className, Boolean.parseBoolean(fields[1]), Boolean.parseBoolean(fields[2]), dependencies));
+				}
+			}
+		}
+
+		return entries;
+	}
+
+	/**
+	 * Find plugins by loading every class in the package, for when there is no plugin index
+	 */
+	private static List<PluginEntry> scanClassPath(ClassLoader classLoader, String packageName) throws IOException
+	{
+		List<PluginEntry> entries = new ArrayList<>();
+		ClassPath classPath = ClassPath.from(classLoader);
+
+		ImmutableSet<ClassInfo> classes = packageName == null ? classPath.getAllClasses()
+			: classPath.getTopLevelClassesRecursive(packageName);
+		for (ClassInfo classInfo : classes)
+		{
+			Class<?> clazz = classInfo.load();
+			PluginDescriptor pluginDescriptor = clazz.getAnnotation(PluginDescriptor.class);
+
+			if (pluginDescriptor == null)
+			{
+				if (clazz.getSuperclass() == Plugin.class)
+				{
+					log.warn("Class {} is a plugin, but has no plugin descriptor",
+							clazz);
+				}
 				continue;
 			}
 
-			scannedPlugins.add(plugin);
+			if (clazz.getSuperclass() != Plugin.class)
+			{
+				log.warn("Class {} has plugin descriptor, but is not a plugin",
+						clazz);
+				continue;
+			}
+
+			List<String> dependencies = new ArrayList<>();
+			for (PluginDependency pluginDependency : clazz.getAnnotationsByType(PluginDependency.class))
+			{
+				dependencies.add(pluginDependency.value().getName());
+			}
+
+			entries.add(new PluginEntry(clazz.getName(), pluginDescriptor.loadWhenOutdated(),
+				pluginDescriptor.developerPlugin(), dependencies));
 		}
 
-		return scannedPlugins;
+		return entries;
 	}
 
 	public synchronized boolean startPlugin(Plugin plugin) throws PluginInstantiationException
@@ -404,16 +699,15 @@ public class PluginManager
 		return pluginDescriptor == null || pluginDescriptor.enabledByDefault();
 	}
 
-	private Plugin instantiate(List<Plugin> scannedPlugins, Class<Plugin> clazz) throws PluginInstantiationException
+	private Plugin instantiate(List<Plugin> scannedPlugins, Class<Plugin> clazz, Collection<String> dependencies) throws PluginInstantiationException
 	{
-		PluginDependency[] pluginDependencies = clazz.getAnnotationsByType(PluginDependency.class);
 		List<Plugin> deps = new ArrayList<>();
-		for (PluginDependency pluginDependency : pluginDependencies)
+		for (String pluginDependency : dependencies)
 		{
-			Optional<Plugin> dependency = scannedPlugins.stream().filter(p -> p.getClass() == pluginDependency.value()).findFirst();
+			Optional<Plugin> dependency = scannedPlugins.stream().filter(p -> p.getClass().getName().equals(pluginDependency)).findFirst();
 			if (!dependency.isPresent())
 			{
-				throw new PluginInstantiationException("Unmet dependency for " + clazz.getSimpleName() + ": " + pluginDependency.value().getSimpleName());
+				throw new PluginInstantiationException("Unmet dependency for " + clazz.getSimpleName() + ": " + pluginDependency);
 			}
 			deps.add(dependency.get());
 		}
@@ -43,6 +43,7 @@ class AttackStylesOverlay extends Overlay
 	private AttackStylesOverlay(AttackStylesPlugin plugin, AttackStylesConfig config)
 	{
 		setPosition(OverlayPosition.ABOVE_CHATBOX_RIGHT);
+		panelComponent.setCached(true);
 		this.plugin = plugin;
 		this.config = config;
 	}
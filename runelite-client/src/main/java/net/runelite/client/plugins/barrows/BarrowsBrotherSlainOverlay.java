@@ -48,6 +48,7 @@ public class BarrowsBrotherSlainOverlay extends Overlay
 	{
 		setPosition(OverlayPosition.TOP_LEFT);
 		setPriority(OverlayPriority.LOW);
+		panelComponent.setCached(true);
 		this.client = client;
 	}
 
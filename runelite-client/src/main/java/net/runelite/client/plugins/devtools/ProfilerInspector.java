@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.devtools;
+
+import com.google.inject.Inject;
+import java.awt.BorderLayout;
+import java.awt.Dimension;
+import java.awt.FlowLayout;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import javax.swing.JButton;
+import javax.swing.JFrame;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.Timer;
+import javax.swing.table.DefaultTableModel;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.callback.ClientThread;
+import net.runelite.client.profiler.Histogram;
+import net.runelite.client.profiler.Profiler;
+import net.runelite.client.ui.ClientUI;
+
+@Slf4j
+class ProfilerInspector extends JFrame
+{
+	private static final String[] COLUMNS = {"Section", "Name", "Count", "Total ms", "Mean ms", "p99 ms", "Max ms"};
+	private static final int REFRESH_MS = 1000;
+	private static final long DUMP_PERIOD_SECONDS = 60;
+	private static final int DUMP_ENTRIES = 25;
+
+	private final Profiler profiler;
+	private final ClientThread clientThread;
+	private final ScheduledExecutorService executor;
+
+	private final DefaultTableModel model = new DefaultTableModel(COLUMNS, 0)
+	{
+		@Override
+		public boolean isCellEditable(int row, int column)
+		{
+			return false;
+		}
+	};
+	private final JLabel invokeStats = new JLabel();
+	private final Timer refreshTimer = new Timer(REFRESH_MS, e -> refresh());
+	private ScheduledFuture<?> dumpFuture;
+
+	@Inject
+	ProfilerInspector(Profiler profiler, ClientThread clientThread, ScheduledExecutorService executor, DevToolsPlugin plugin)
+	{
+		this.profiler = profiler;
+		this.clientThread = clientThread;
+		this.executor = executor;
+
+		setTitle("RuneLite Profiler");
+		setIconImage(ClientUI.ICON);
+
+		setLayout(new BorderLayout());
+
+		setDefaultCloseOperation(JFrame.DO_NOTHING_ON_CLOSE);
+		addWindowListener(new WindowAdapter()
+		{
+			@Override
+			public void windowClosing(WindowEvent e)
+			{
+				close();
+				plugin.getProfiler().setActive(false);
+			}
+		});
+
+		final JTable table = new JTable(model);
+		table.setAutoCreateRowSorter(true);
+		table.getColumnModel().getColumn(1).setPreferredWidth(400);
+
+		final JScrollPane scroller = new JScrollPane(table);
+		scroller.setPreferredSize(new Dimension(900, 400));
+		add(scroller, BorderLayout.CENTER);
+
+		final JPanel opts = new JPanel();
+		opts.setLayout(new FlowLayout());
+		opts.add(invokeStats);
+
+		final JButton resetBtn = new JButton("Reset");
+		resetBtn.addActionListener(e ->
+		{
+			profiler.reset();
+			refresh();
+		});
+		opts.add(resetBtn);
+
+		final JButton dumpBtn = new JButton("Log");
+		dumpBtn.addActionListener(e -> executor.submit(this::dump));
+		opts.add(dumpBtn);
+
+		add(opts, BorderLayout.SOUTH);
+
+		pack();
+	}
+
+	private void dump()
+	{
+		profiler.dump(DUMP_ENTRIES);
+		log.info("Client thread invokes: {}", clientThread.getStats());
+	}
+
+	private void refresh()
+	{
+		final ClientThread.Stats stats = clientThread.getStats();
+		invokeStats.setText(String.format("Invokes: %d queued, %d waiting, %d ran in %.2fms (max %.2fms, %d over budget)",
+			stats.getQueued(), stats.getWaiting(), stats.getLastFrameRun(), stats.getLastFrameNanos() / 1e6,
+			stats.getMaxFrameNanos() / 1e6, stats.getOverBudgetFrames()));
+
+		model.setRowCount(0);
+		for (Profiler.Entry entry : profiler.getEntries())
+		{
+			final Histogram.Snapshot s = entry.getSnapshot();
+			model.addRow(new Object[]{
+				entry.getSection(),
+				entry.getName(),
+				s.getCount(),
+				s.getTotalNanos() / 1e6,
+				s.getMeanNanos() / 1e6,
+				s.getPercentileNanos(0.99) / 1e6,
+				s.getMaxNanos() / 1e6
+			});
+		}
+	}
+
+	public void open()
+	{
+		profiler.setEnabled(true);
+		dumpFuture = executor.scheduleAtFixedRate(this::dump, DUMP_PERIOD_SECONDS, DUMP_PERIOD_SECONDS, TimeUnit.SECONDS);
+		refreshTimer.start();
+		setVisible(true);
+		toFront();
+		repaint();
+	}
+
+	public void close()
+	{
+		profiler.setEnabled(false);
+		if (dumpFuture != null)
+		{
+			dumpFuture.cancel(false);
+			dumpFuture = null;
+		}
+		refreshTimer.stop();
+		setVisible(false);
+	}
+}
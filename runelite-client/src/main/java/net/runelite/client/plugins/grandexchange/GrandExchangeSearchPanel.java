@@ -168,7 +168,7 @@ class GrandExchangeSearchPanel extends JPanel
 		searchBar.setEditable(false);
 		searchBar.setIcon(IconTextField.Icon.LOADING);
 
-		List<ItemPrice> result = itemManager.search(lookup);
+		List<ItemPrice> result = itemManager.search(lookup, MAX_SEARCH_ITEMS + 1);
 		if (result.isEmpty())
 		{
 			searchBar.setIcon(IconTextField.Icon.ERROR);
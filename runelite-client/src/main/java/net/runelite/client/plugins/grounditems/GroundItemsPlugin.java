@@ -27,12 +27,9 @@ package net.runelite.client.plugins.grounditems;
 
 import com.google.common.base.Joiner;
 import com.google.common.base.Splitter;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.LoadingCache;
 import com.google.inject.Provides;
 import java.awt.Color;
 import java.awt.Rectangle;
-import static java.lang.Boolean.TRUE;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -40,7 +37,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.TimeUnit;
 import javax.inject.Inject;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -84,6 +80,7 @@ import static net.runelite.client.plugins.grounditems.config.MenuHighlightMode.O
 import net.runelite.client.ui.overlay.OverlayManager;
 import net.runelite.client.util.ColorUtil;
 import net.runelite.client.util.StackFormatter;
+import net.runelite.client.util.WildcardSet;
 
 @PluginDescriptor(
 	name = "Ground Items",
@@ -156,8 +153,8 @@ public class GroundItemsPlugin extends Plugin
 	@Getter
 	private final Map<GroundItem.GroundItemKey, GroundItem> collectedGroundItems = new LinkedHashMap<>();
 	private final Map<Integer, Color> priceChecks = new LinkedHashMap<>();
-	private LoadingCache<String, Boolean> highlightedItems;
-	private LoadingCache<String, Boolean> hiddenItems;
+	private WildcardSet highlightedItems = WildcardSet.EMPTY;
+	private WildcardSet hiddenItems = WildcardSet.EMPTY;
 
 	@Provides
 	GroundItemsConfig provideConfig(ConfigManager configManager)
@@ -180,10 +177,8 @@ public class GroundItemsPlugin extends Plugin
 		overlayManager.remove(overlay);
 		mouseManager.unregisterMouseListener(inputListener);
 		keyManager.unregisterKeyListener(inputListener);
-		highlightedItems.invalidateAll();
-		highlightedItems = null;
-		hiddenItems.invalidateAll();
-		hiddenItems = null;
+		highlightedItems = WildcardSet.EMPTY;
+		hiddenItems = WildcardSet.EMPTY;
 		hiddenItemList = null;
 		highlightedItemsList = null;
 		collectedGroundItems.clear();
@@ -340,15 +335,8 @@ public class GroundItemsPlugin extends Plugin
 		// gets the highlighted items from the text box in the config
 		highlightedItemsList = COMMA_SPLITTER.splitToList(config.getHighlightItems());
 
-		highlightedItems = CacheBuilder.newBuilder()
-			.maximumSize(512L)
-			.expireAfterAccess(10, TimeUnit.MINUTES)
-			.build(new WildcardMatchLoader(highlightedItemsList));
-
-		hiddenItems = CacheBuilder.newBuilder()
-			.maximumSize(512L)
-			.expireAfterAccess(10, TimeUnit.MINUTES)
-			.build(new WildcardMatchLoader(hiddenItemList));
+		highlightedItems = WildcardSet.of(highlightedItemsList);
+		hiddenItems = WildcardSet.of(hiddenItemList);
 
 		// Cache colors
 		priceChecks.clear();
@@ -475,13 +463,15 @@ public class GroundItemsPlugin extends Plugin
 
 	Color getHighlighted(String item, int gePrice, int haPrice)
 	{
-		if (TRUE.equals(highlightedItems.getUnchecked(item)))
+		item = item.trim();
+
+		if (highlightedItems.matches(item))
 		{
 			return config.highlightedColor();
 		}
 
 		// Explicit hide takes priority over implicit highlight
-		if (TRUE.equals(hiddenItems.getUnchecked(item)))
+		if (hiddenItems.matches(item))
 		{
 			return null;
 		}
@@ -499,8 +489,10 @@ public class GroundItemsPlugin extends Plugin
 
 	Color getHidden(String item, int gePrice, int haPrice, boolean isTradeable)
 	{
-		final boolean isExplicitHidden = TRUE.equals(hiddenItems.getUnchecked(item));
-		final boolean isExplicitHighlight = TRUE.equals(highlightedItems.getUnchecked(item));
+		item = item.trim();
+
+		final boolean isExplicitHidden = hiddenItems.matches(item);
+		final boolean isExplicitHighlight = highlightedItems.matches(item);
 		final boolean canBeHidden = gePrice > 0 || isTradeable || !config.dontHideUntradeables();
 		final boolean underGe = gePrice < config.getHideUnderValue();
 		final boolean underHa = haPrice < config.getHideUnderValue();
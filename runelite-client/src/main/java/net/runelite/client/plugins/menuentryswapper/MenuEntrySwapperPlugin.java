@@ -122,6 +122,9 @@ public class MenuEntrySwapperPlugin extends Plugin
 	@Setter
 	private boolean shiftModifier = false;
 
+	private MenuSwapTable swapTable = new MenuSwapTable();
+	private boolean shiftClickCustomization;
+
 	@Provides
 	MenuEntrySwapperConfig provideConfig(ConfigManager configManager)
 	{
@@ -131,6 +134,8 @@ public class MenuEntrySwapperPlugin extends Plugin
 	@Override
 	public void startUp()
 	{
+		rebuildSwapTable();
+
 		if (config.shiftClickCustomization())
 		{
 			enableCustomization();
@@ -146,6 +151,13 @@ public class MenuEntrySwapperPlugin extends Plugin
 	@Subscribe
 	public void onConfigChanged(ConfigChanged event)
 	{
+		if (!event.getGroup().equals("menuentryswapper"))
+		{
+			return;
+		}
+
+		rebuildSwapTable();
+
 		if (event.getKey().equals("shiftClickCustomization"))
 		{
 			if (config.shiftClickCustomization())
@@ -159,6 +171,188 @@ public class MenuEntrySwapperPlugin extends Plugin
 		}
 	}
 
+	/**
+	 * Compile the swap configuration into a table of swaps by menu option. The branches
+	 * for an option are tried in the order they are added here, and only the first whose
+	 * target matches is applied.
+	 */
+	private void rebuildSwapTable()
+	{
+		final MenuSwapTable table = new MenuSwapTable();
+
+		final MenuSwapTable.Branch talkTo = table.branch("talk-to");
+
+		if (config.swapPickpocket())
+		{
+			talkTo.swap("pickpocket", target -> target.contains("h.a.m."));
+		}
+
+		if (config.swapAbyssTeleport())
+		{
+			talkTo.swap("teleport", target -> target.contains("mage of zamorak"));
+		}
+
+		if (config.swapBank())
+		{
+			talkTo.swap("bank");
+		}
+
+		if (config.swapExchange())
+		{
+			talkTo.swap("exchange");
+		}
+
+		if (config.swapDarkMage())
+		{
+			talkTo.swap("repairs");
+		}
+
+		// make sure assignment swap is higher priority than trade swap for slayer masters
+		if (config.swapAssignment())
+		{
+			talkTo.swap("assignment");
+		}
+
+		if (config.swapTrade())
+		{
+			talkTo.swap("trade")
+				.swap("trade-with");
+		}
+
+		if (config.claimSlime())
+		{
+			talkTo.swap("claim-slime", "robin"::equals);
+		}
+
+		if (config.swapTravel())
+		{
+			talkTo.swap("travel")
+				.swap("pay-fare")
+				.swap("charter")
+				.swap("take-boat")
+				.swap("fly")
+				.swap("jatizso")
+				.swap("neitiznot")
+				.swap("rellekka")
+				.swap("follow")
+				.swap("transport");
+		}
+
+		if (config.swapPay())
+		{
+			talkTo.swap("pay");
+		}
+
+		if (config.swapDecant())
+		{
+			talkTo.swap("decant");
+		}
+
+		if (config.swapQuick())
+		{
+			talkTo.swap("quick-travel");
+		}
+
+		if (config.swapTravel())
+		{
+			table.branch("pass", "energy barrier"::equals).swap("pay-toll(2-ecto)");
+			table.branch("open", "gate"::equals).swap("pay-toll(10gp)");
+			table.branch("inspect", "trapdoor"::equals).swap("travel");
+		}
+
+		if (config.swapHarpoon())
+		{
+			table.branch("cage").swap("harpoon");
+			table.branch("big net").swap("harpoon");
+			table.branch("net").swap("harpoon");
+		}
+
+		switch (config.swapHomePortal())
+		{
+			case HOME:
+				table.branch("enter").swap("home");
+				break;
+			case BUILD_MODE:
+				table.branch("enter").swap("build mode");
+				break;
+			case FRIENDS_HOUSE:
+				table.branch("enter").swap("friend's house");
+				break;
+		}
+
+		final FairyRingMode fairyRingMode = config.swapFairyRing();
+		if (fairyRingMode == FairyRingMode.LAST_DESTINATION || fairyRingMode == FairyRingMode.CONFIGURE)
+		{
+			final String fairyRingOption = fairyRingMode == FairyRingMode.LAST_DESTINATION ? "last-destination" : "configure";
+			table.branch("zanaris").swapContains(fairyRingOption);
+			table.branch("configure").swapContains(fairyRingOption);
+			table.branch("tree").swapContains(fairyRingOption);
+		}
+		else if (fairyRingMode == FairyRingMode.ZANARIS)
+		{
+			table.branch("tree").swapContains("zanaris");
+		}
+
+		if (config.swapBoxTrap())
+		{
+			table.branch("check").swap("reset");
+			table.branch("dismantle").swap("reset");
+			table.branch("take").swap("lay");
+		}
+
+		if (config.swapChase())
+		{
+			table.branch("pick-up").swap("chase");
+		}
+
+		if (config.swapBirdhouseEmpty())
+		{
+			table.branch("interact", target -> target.contains("birdhouse")).swap("empty");
+		}
+
+		if (config.swapQuick())
+		{
+			table.branch("ring").swap("quick-start");
+			table.branch("pass").swap("quick-pass")
+				.swap("quick pass");
+		}
+
+		if (config.swapAdmire())
+		{
+			table.branch("admire").swap("teleport")
+				.swap("spellbook")
+				.swap("perks");
+		}
+
+		if (config.swapPrivate())
+		{
+			table.branch("shared").swap("private");
+		}
+
+		table.shiftClick();
+
+		// Put all item-related swapping after shift-click
+		if (config.swapTeleportItem())
+		{
+			table.branch("wear").swap("rub")
+				.swap("teleport");
+		}
+
+		final MenuSwapTable.Branch wield = table.branch("wield");
+		if (config.swapTeleportItem())
+		{
+			wield.swap("teleport");
+		}
+
+		if (config.swapBones())
+		{
+			table.branch("bury").swap("use");
+		}
+
+		swapTable = table;
+		shiftClickCustomization = config.shiftClickCustomization();
+	}
+
 	private Integer getSwapConfig(int itemId)
 	{
 		itemId = ItemVariationMapping.map(itemId);
@@ -336,8 +530,8 @@ public class MenuEntrySwapperPlugin extends Plugin
 		}
 
 		final int eventId = event.getIdentifier();
-		final String option = Text.removeTags(event.getOption()).toLowerCase();
-		final String target = Text.removeTags(event.getTarget()).toLowerCase();
+		final String option = swapTable.normalise(event.getOption());
+		final String target = swapTable.normalise(event.getTarget());
 		final NPC hintArrowNpc  = client.getHintArrowNpc();
 
 		if (hintArrowNpc != null
@@ -347,190 +541,21 @@ public class MenuEntrySwapperPlugin extends Plugin
 			return;
 		}
 
-		if (option.equals("talk-to"))
-		{
-			if (config.swapPickpocket() && target.contains("h.a.m."))
-			{
-				swap("pickpocket", option, target, true);
-			}
-
-			if (config.swapAbyssTeleport() && target.contains("mage of zamorak"))
-			{
-				swap("teleport", option, target, true);
-			}
-
-			if (config.swapBank())
-			{
-				swap("bank", option, target, true);
-			}
+		final MenuSwapTable.Branch branch = swapTable.find(option, target);
 
-			if (config.swapExchange())
-			{
-				swap("exchange", option, target, true);
-			}
-
-			if (config.swapDarkMage())
-			{
-				swap("repairs", option, target, true);
-			}
-
-			// make sure assignment swap is higher priority than trade swap for slayer masters
-			if (config.swapAssignment())
-			{
-				swap("assignment", option, target, true);
-			}
-
-			if (config.swapTrade())
-			{
-				swap("trade", option, target, true);
-				swap("trade-with", option, target, true);
-			}
-
-			if (config.claimSlime() && target.equals("robin"))
-			{
-				swap("claim-slime", option, target, true);
-			}
-
-			if (config.swapTravel())
-			{
-				swap("travel", option, target, true);
-				swap("pay-fare", option, target, true);
-				swap("charter", option, target, true);
-				swap("take-boat", option, target, true);
-				swap("fly", option, target, true);
-				swap("jatizso", option, target, true);
-				swap("neitiznot", option, target, true);
-				swap("rellekka", option, target, true);
-				swap("follow", option, target, true);
-				swap("transport", option, target, true);
-			}
-
-			if (config.swapPay())
-			{
-				swap("pay", option, target, true);
-			}
-
-			if (config.swapDecant())
-			{
-				swap("decant", option, target, true);
-			}
-
-			if (config.swapQuick())
-			{
-				swap("quick-travel", option, target, true);
-			}
-		}
-		else if (config.swapTravel() && option.equals("pass") && target.equals("energy barrier"))
-		{
-			swap("pay-toll(2-ecto)", option, target, true);
-		}
-		else if (config.swapTravel() && option.equals("open") && target.equals("gate"))
-		{
-			swap("pay-toll(10gp)", option, target, true);
-		}
-		else if (config.swapTravel() && option.equals("inspect") && target.equals("trapdoor"))
-		{
-			swap("travel", option, target, true);
-		}
-		else if (config.swapHarpoon() && option.equals("cage"))
-		{
-			swap("harpoon", option, target, true);
-		}
-		else if (config.swapHarpoon() && (option.equals("big net") || option.equals("net")))
-		{
-			swap("harpoon", option, target, true);
-		}
-		else if (config.swapHomePortal() != HouseMode.ENTER && option.equals("enter"))
-		{
-			switch (config.swapHomePortal())
-			{
-				case HOME:
-					swap("home", option, target, true);
-					break;
-				case BUILD_MODE:
-					swap("build mode", option, target, true);
-					break;
-				case FRIENDS_HOUSE:
-					swap("friend's house", option, target, true);
-					break;
-			}
-		}
-		else if (config.swapFairyRing() != FairyRingMode.OFF && config.swapFairyRing() != FairyRingMode.ZANARIS
-			&& (option.equals("zanaris") || option.equals("configure") || option.equals("tree")))
-		{
-			if (config.swapFairyRing() == FairyRingMode.LAST_DESTINATION)
-			{
-				swap("last-destination", option, target, false);
-			}
-			else if (config.swapFairyRing() == FairyRingMode.CONFIGURE)
-			{
-				swap("configure", option, target, false);
-			}
-		}
-		else if (config.swapFairyRing() == FairyRingMode.ZANARIS && option.equals("tree"))
-		{
-			swap("zanaris", option, target, false);
-		}
-		else if (config.swapBoxTrap() && (option.equals("check") || option.equals("dismantle")))
-		{
-			swap("reset", option, target, true);
-		}
-		else if (config.swapBoxTrap() && option.equals("take"))
-		{
-			swap("lay", option, target, true);
-		}
-		else if (config.swapChase() && option.equals("pick-up"))
-		{
-			swap("chase", option, target, true);
-		}
-		else if (config.swapBirdhouseEmpty() && option.equals("interact") && target.contains("birdhouse"))
-		{
-			swap("empty", option, target, true);
-		}
-		else if (config.swapQuick() && option.equals("ring"))
-		{
-			swap("quick-start", option, target, true);
-		}
-		else if (config.swapQuick() && option.equals("pass"))
-		{
-			swap("quick-pass", option, target, true);
-			swap("quick pass", option, target, true);
-		}
-		else if (config.swapAdmire() && option.equals("admire"))
-		{
-			swap("teleport", option, target, true);
-			swap("spellbook", option, target, true);
-			swap("perks", option, target, true);
-		}
-		else if (config.swapPrivate() && option.equals("shared"))
-		{
-			swap("private", option, target, true);
-		}
-		else if (config.shiftClickCustomization() && shiftModifier && !option.equals("use"))
+		if ((branch == null || branch.isAfterShiftClick())
+			&& shiftClickCustomization && shiftModifier && !option.equals("use"))
 		{
 			Integer customOption = getSwapConfig(eventId);
 
 			if (customOption != null && customOption == -1)
 			{
-				swap("use", option, target, true);
-			}
-		}
-		// Put all item-related swapping after shift-click
-		else if (config.swapTeleportItem() && option.equals("wear"))
-		{
-			swap("rub", option, target, true);
-			swap("teleport", option, target, true);
-		}
-		else if (option.equals("wield"))
-		{
-			if (config.swapTeleportItem())
-			{
-				swap("teleport", option, target, true);
+				swapTable.swap(client, "use", option, target);
 			}
 		}
-		else if (config.swapBones() && option.equals("bury"))
+		else if (branch != null)
 		{
-			swap("use", option, target, true);
+			swapTable.apply(client, branch, option, target);
 		}
 	}
 
@@ -555,50 +580,6 @@ public class MenuEntrySwapperPlugin extends Plugin
 		}
 	}
 
-	private int searchIndex(MenuEntry[] entries, String option, String target, boolean strict)
-	{
-		for (int i = entries.length - 1; i >= 0; i--)
-		{
-			MenuEntry entry = entries[i];
-			String entryOption = Text.removeTags(entry.getOption()).toLowerCase();
-			String entryTarget = Text.removeTags(entry.getTarget()).toLowerCase();
-
-			if (strict)
-			{
-				if (entryOption.equals(option) && entryTarget.equals(target))
-				{
-					return i;
-				}
-			}
-			else
-			{
-				if (entryOption.contains(option.toLowerCase()) && entryTarget.equals(target))
-				{
-					return i;
-				}
-			}
-		}
-
-		return -1;
-	}
-
-	private void swap(String optionA, String optionB, String target, boolean strict)
-	{
-		MenuEntry[] entries = client.getMenuEntries();
-
-		int idxA = searchIndex(entries, optionA, target, strict);
-		int idxB = searchIndex(entries, optionB, target, strict);
-
-		if (idxA >= 0 && idxB >= 0)
-		{
-			MenuEntry entry = entries[idxA];
-			entries[idxA] = entries[idxB];
-			entries[idxB] = entry;
-
-			client.setMenuEntries(entries);
-		}
-	}
-
 	private void removeShiftClickCustomizationMenus()
 	{
 		menuManager.removeManagedCustomMenu(FIXED_INVENTORY_TAB_CONFIGURE);
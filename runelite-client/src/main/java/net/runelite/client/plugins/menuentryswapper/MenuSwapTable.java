@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.menuentryswapper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import lombok.Getter;
+import lombok.Value;
+import net.runelite.api.Client;
+import net.runelite.api.MenuEntry;
+import net.runelite.client.util.Text;
+
+/**
+ * Menu swaps compiled from the plugin configuration, keyed by the option of the menu entry
+ * being added. The branches for an option are kept in the order they were added, and the
+ * first one whose target matches is the one which is applied.
+ */
+class MenuSwapTable
+{
+	private static final int MAX_NORMALISED = 1024;
+
+	static class Branch
+	{
+		private final Predicate<String> target;
+		@Getter
+		private final boolean afterShiftClick;
+		private final List<Swap> swaps = new ArrayList<>();
+
+		private Branch(Predicate<String> target, boolean afterShiftClick)
+		{
+			this.target = target;
+			this.afterShiftClick = afterShiftClick;
+		}
+
+		/**
+		 * Swap the added entry with the entry with the given option on the same target
+		 */
+		Branch swap(String option)
+		{
+			return swap(option, null);
+		}
+
+		/**
+		 * Swap the added entry with the entry with the given option, if the target matches
+		 */
+		Branch swap(String option, Predicate<String> target)
+		{
+			swaps.add(new Swap(option, target, true));
+			return this;
+		}
+
+		/**
+		 * Swap the added entry with the entry whose option contains the given option. The
+		 * added entry is matched the same way.
+		 */
+		Branch swapContains(String option)
+		{
+			swaps.add(new Swap(option, null, false));
+			return this;
+		}
+	}
+
+	@Value
+	private static class Swap
+	{
+		private final String option;
+		private final Predicate<String> target;
+		private final boolean strict;
+	}
+
+	private final Map<String, List<Branch>> branches = new HashMap<>();
+	private boolean afterShiftClick;
+
+	/**
+	 * Normalised option and target text, by the raw text from the client
+	 */
+	private final Map<String, String> normalised = new HashMap<>();
+
+	Branch branch(String option)
+	{
+		return branch(option, null);
+	}
+
+	Branch branch(String option, Predicate<String> target)
+	{
+		Branch branch = new Branch(target, afterShiftClick);
+		branches.computeIfAbsent(option, k -> new ArrayList<>(1)).add(branch);
+		return branch;
+	}
+
+	/**
+	 * Mark where shift click customization comes in the order of branches. It applies only
+	 * if no branch added before this matches.
+	 */
+	void shiftClick()
+	{
+		afterShiftClick = true;
+	}
+
+	/**
+	 * Find the branch for a normalised option and target
+	 */
+	Branch find(String option, String target)
+	{
+		for (Branch branch : branches.getOrDefault(option, Collections.emptyList()))
+		{
+			if (branch.target == null || branch.target.test(target))
+			{
+				return branch;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Remove tags from and lower case menu text
+	 */
+	String normalise(String text)
+	{
+		String result = normalised.get(text);
+		if (result == null)
+		{
+			if (normalised.size() >= MAX_NORMALISED)
+			{
+				normalised.clear();
+			}
+
+			result = Text.removeTags(text).toLowerCase();
+			normalised.put(text, result);
+		}
+		return result;
+	}
+
+	/**
+	 * Apply the swaps of a branch to the menu, for the entry just added
+	 */
+	void apply(Client client, Branch branch, String option, String target)
+	{
+		Snapshot snapshot = null;
+
+		for (Swap swap : branch.swaps)
+		{
+			if (swap.target != null && !swap.target.test(target))
+			{
+				continue;
+			}
+
+			if (snapshot == null)
+			{
+				snapshot = new Snapshot(client.getMenuEntries());
+			}
+
+			snapshot.swap(swap.option, option, target, swap.strict);
+		}
+
+		if (snapshot != null && snapshot.changed)
+		{
+			client.setMenuEntries(snapshot.entries);
+		}
+	}
+
+	/**
+	 * Swap the added entry with the entry with the given option
+	 */
+	void swap(Client client, String optionA, String option, String target)
+	{
+		Snapshot snapshot = new Snapshot(client.getMenuEntries());
+		snapshot.swap(optionA, option, target, true);
+
+		if (snapshot.changed)
+		{
+			client.setMenuEntries(snapshot.entries);
+		}
+	}
+
+	/**
+	 * The menu entries, with their options and targets normalised once, for any number of
+	 * swaps to be made before writing them back
+	 */
+	private class Snapshot
+	{
+		private final MenuEntry[] entries;
+		private final String[] options;
+		private final String[] targets;
+		private boolean changed;
+
+		private Snapshot(MenuEntry[] entries)
+		{
+			this.entries = entries;
+			this.options = new String[entries.length];
+			this.targets = new String[entries.length];
+
+			for (int i = 0; i < entries.length; ++i)
+			{
+				options[i] = normalise(entries[i].getOption());
+				targets[i] = normalise(entries[i].getTarget());
+			}
+		}
+
+		private void swap(String optionA, String optionB, String target, boolean strict)
+		{
+			int idxA = indexOf(optionA, target, strict);
+			int idxB = indexOf(optionB, target, strict);
+
+			if (idxA >= 0 && idxB >= 0)
+			{
+				swap(entries, idxA, idxB);
+				swap(options, idxA, idxB);
+				swap(targets, idxA, idxB);
+				changed = true;
+			}
+		}
+
+		private int indexOf(String option, String target, boolean strict)
+		{
+			for (int i = entries.length - 1; i >= 0; i--)
+			{
+				if (!targets[i].equals(target))
+				{
+					continue;
+				}
+
+				if (strict ? options[i].equals(option) : options[i].contains(option))
+				{
+					return i;
+				}
+			}
+
+			return -1;
+		}
+
+		private <T> void swap(T[] array, int a, int b)
+		{
+			T tmp = array[a];
+			array[a] = array[b];
+			array[b] = tmp;
+		}
+	}
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.profiler;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.Value;
+
+/**
+ * A lock-free histogram of durations, in power of two nanosecond buckets
+ */
+public class Histogram
+{
+	private static final int BUCKETS = 64;
+
+	// bucket i holds durations in [2^(i-1), 2^i)
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+	private final LongAdder count = new LongAdder();
+	private final LongAdder total = new LongAdder();
+	private final AtomicLong max = new AtomicLong();
+
+	public void record(long nanos)
+	{
+		if (nanos < 0)
+		{
+			nanos = 0;
+		}
+
+		buckets.incrementAndGet(bucket(nanos));
+		count.increment();
+		total.add(nanos);
+
+		long m;
+		while (nanos > (m = max.get()) && !max.compareAndSet(m, nanos))
+		{
+			// retry
+		}
+	}
+
+	public Snapshot snapshot()
+	{
+		final long[] counts = new long[BUCKETS];
+		for (int i = 0; i < BUCKETS; ++i)
+		{
+			counts[i] = buckets.get(i);
+		}
+		return new Snapshot(count.sum(), total.sum(), max.get(), counts);
+	}
+
+	static int bucket(long nanos)
+	{
+		return Math.min(BUCKETS - Long.numberOfLeadingZeros(nanos), BUCKETS - 1);
+	}
+
+	@Value
+	public static class Snapshot
+	{
+		private final long count;
+		private final long totalNanos;
+		private final long maxNanos;
+		private final long[] buckets;
+
+		public long getMeanNanos()
+		{
+			return count == 0 ? 0 : totalNanos / count;
+		}
+
+		/**
+		 * Estimate a percentile from the bucket counts. The result is the upper bound of the
+		 * bucket the percentile falls in, so it is accurate to within a factor of two.
+		 *
+		 * @param percentile percentile, between 0 and 1
+		 * @return the estimated duration, in nanoseconds
+		 */
+		public long getPercentileNanos(double percentile)
+		{
+			long bucketTotal = 0;
+			for (long c : buckets)
+			{
+				bucketTotal += c;
+			}
+
+			// the count may have raced ahead of the buckets, so rank against the buckets' own total
+			final long rank = (long) Math.ceil(bucketTotal * percentile);
+			long seen = 0;
+			for (int i = 0; i < buckets.length; ++i)
+			{
+				seen += buckets[i];
+				if (seen >= rank && seen > 0)
+				{
+					final long upper = (1L << i) - 1;
+					return Math.min(upper, maxNanos);
+				}
+			}
+			return 0;
+		}
+	}
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.profiler;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import lombok.Getter;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Records how long the work run on the client thread takes, per event subscriber, overlay,
+ * invokable and scheduled task. Recording is off by default and costs a single volatile
+ * read per call site while disabled.
+ */
+@Slf4j
+public class Profiler
+{
+	public enum Section
+	{
+		SUBSCRIBER,
+		OVERLAY,
+		INVOKE,
+		SCHEDULED
+	}
+
+	@Value
+	public static class Entry
+	{
+		private final Section section;
+		private final String name;
+		private final Histogram.Snapshot snapshot;
+	}
+
+	private final Map<Section, ConcurrentMap<Object, NamedHistogram>> histograms = new EnumMap<>(Section.class);
+
+	@Getter
+	private volatile boolean enabled;
+
+	public Profiler()
+	{
+		for (Section section : Section.values())
+		{
+			histograms.put(section, new ConcurrentHashMap<>());
+		}
+	}
+
+	public void setEnabled(boolean enabled)
+	{
+		this.enabled = enabled;
+		log.debug("Profiler {}", enabled ? "enabled" : "disabled");
+	}
+
+	/**
+	 * Record a duration. Callers should check {@link #isEnabled()} before timing anything.
+	 *
+	 * @param section the kind of work which was timed
+	 * @param key the {@link Method} or {@link Class} which identifies the work
+	 * @param nanos the duration, in nanoseconds
+	 */
+	public void record(Section section, Object key, long nanos)
+	{
+		final ConcurrentMap<Object, NamedHistogram> map = histograms.get(section);
+		NamedHistogram histogram = map.get(key);
+		if (histogram == null)
+		{
+			final NamedHistogram created = new NamedHistogram(nameOf(key));
+			histogram = map.putIfAbsent(key, created);
+			if (histogram == null)
+			{
+				histogram = created;
+			}
+		}
+		histogram.record(nanos);
+	}
+
+	/**
+	 * Get a snapshot of everything recorded so far
+	 *
+	 * @return the entries, most total time first
+	 */
+	public List<Entry> getEntries()
+	{
+		final List<Entry> entries = new ArrayList<>();
+		for (Map.Entry<Section, ConcurrentMap<Object, NamedHistogram>> e : histograms.entrySet())
+		{
+			for (NamedHistogram histogram : e.getValue().values())
+			{
+				entries.add(new Entry(e.getKey(), histogram.name, histogram.snapshot()));
+			}
+		}
+		entries.sort(Comparator.comparingLong((Entry e) -> e.getSnapshot().getTotalNanos()).reversed());
+		return entries;
+	}
+
+	public void reset()
+	{
+		for (ConcurrentMap<Object, NamedHistogram> map : histograms.values())
+		{
+			map.clear();
+		}
+	}
+
+	/**
+	 * Log the entries which took the most total time
+	 *
+	 * @param limit the maximum number of entries to log
+	 */
+	public void dump(int limit)
+	{
+		final List<Entry> entries = getEntries();
+		if (entries.isEmpty())
+		{
+			return;
+		}
+
+		final StringBuilder sb = new StringBuilder("Client thread profile (total / count / mean / p99 / max):");
+		for (Entry entry : entries.subList(0, Math.min(limit, entries.size())))
+		{
+			final Histogram.Snapshot s = entry.getSnapshot();
+			sb.append(String.format("%n  %-10s %-60s %8.1fms %8d %8.3fms %8.3fms %8.3fms",
+				entry.getSection(), entry.getName(),
+				s.getTotalNanos() / 1e6, s.getCount(), s.getMeanNanos() / 1e6,
+				s.getPercentileNanos(0.99) / 1e6, s.getMaxNanos() / 1e6));
+		}
+		log.info(sb.toString());
+	}
+
+	static String nameOf(Object key)
+	{
+		if (key instanceof Method)
+		{
+			final Method method = (Method) key;
+			return method.getDeclaringClass().getName() + "." + method.getName();
+		}
+
+		if (key instanceof Class)
+		{
+			// lambdas are named after the class which created them
+			final String name = ((Class<?>) key).getName();
+			final int idx = name.indexOf("$$Lambda");
+			return idx == -1 ? name : name.substring(0, idx);
+		}
+
+		return String.valueOf(key);
+	}
+
+	private static class NamedHistogram extends Histogram
+	{
+		private final String name;
+
+		NamedHistogram(String name)
+		{
+			this.name = name;
+		}
+	}
+}
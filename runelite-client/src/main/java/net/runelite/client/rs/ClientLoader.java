@@ -26,46 +26,53 @@
  */
 package net.runelite.client.rs;
 
+import com.google.common.hash.Hasher;
 import com.google.common.hash.Hashing;
 import com.google.common.io.ByteStreams;
 import com.google.common.reflect.TypeToken;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.Gson;
-import io.sigpipe.jbsdiff.InvalidHeaderException;
 import io.sigpipe.jbsdiff.Patch;
 import java.applet.Applet;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.ProtectionDomain;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.jar.JarEntry;
-import java.util.jar.JarInputStream;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import lombok.extern.slf4j.Slf4j;
 import static net.runelite.client.rs.ClientUpdateCheckMode.*;
-import net.runelite.http.api.RuneLiteAPI;
-import okhttp3.Request;
-import okhttp3.Response;
-import org.apache.commons.compress.compressors.CompressorException;
 
 @Slf4j
 @Singleton
 public class ClientLoader
 {
 	private final ClientConfigLoader clientConfigLoader;
+	private final GamepackCache gamepackCache;
 	private ClientUpdateCheckMode updateCheckMode;
 
 	@Inject
 	private ClientLoader(
 		@Named("updateCheckMode") final ClientUpdateCheckMode updateCheckMode,
-		final ClientConfigLoader clientConfigLoader)
+		final ClientConfigLoader clientConfigLoader,
+		final GamepackCache gamepackCache)
 	{
 		this.updateCheckMode = updateCheckMode;
 		this.clientConfigLoader = clientConfigLoader;
+		this.gamepackCache = gamepackCache;
 	}
 
 	public Applet load()
@@ -79,44 +86,8 @@ public class ClientLoader
 		{
 			RSConfig config = clientConfigLoader.fetch();
 
-			Map<String, byte[]> zipFile = new HashMap<>();
-			{
-				String codebase = config.getCodeBase();
-				String initialJar = config.getInitialJar();
-				URL url = new URL(codebase + initialJar);
-				Request request = new Request.Builder()
-					.url(url)
-					.build();
-
-				try (Response response = RuneLiteAPI.CLIENT.newCall(request).execute())
-				{
-					JarInputStream jis = new JarInputStream(response.body().byteStream());
-
-					byte[] tmp = new byte[4096];
-					ByteArrayOutputStream buffer = new ByteArrayOutputStream(756 * 1024);
-					for (; ; )
-					{
-						JarEntry metadata = jis.getNextJarEntry();
-						if (metadata == null)
-						{
-							break;
-						}
-
-						buffer.reset();
-						for (; ; )
-						{
-							int n = jis.read(tmp);
-							if (n <= -1)
-							{
-								break;
-							}
-							buffer.write(tmp, 0, n);
-						}
-
-						zipFile.put(metadata.getName(), buffer.toByteArray());
-					}
-				}
-			}
+			URL url = new URL(config.getCodeBase() + config.getInitialJar());
+			GamepackCache.Gamepack gamepack;
 
 			if (updateCheckMode == AUTO)
 			{
@@ -128,52 +99,16 @@ public class ClientLoader
 					}.getType());
 				}
 
-				for (Map.Entry<String, String> file : hashes.entrySet())
+				gamepack = gamepackCache.load(url, patchSetKey(hashes), classes -> patch(classes, hashes));
+				if (!gamepack.isPatched())
 				{
-					byte[] bytes = zipFile.get(file.getKey());
-
-					String ourHash = null;
-					if (bytes != null)
-					{
-						ourHash = Hashing.sha512().hashBytes(bytes).toString();
-					}
-
-					if (!file.getValue().equals(ourHash))
-					{
-						log.debug("{} had a hash mismatch; falling back to vanilla. {} != {}", file.getKey(), file.getValue(), ourHash);
-						log.info("Client is outdated!");
-						updateCheckMode = VANILLA;
-						break;
-					}
+					log.info("Client is outdated!");
+					updateCheckMode = VANILLA;
 				}
 			}
-
-			if (updateCheckMode == AUTO)
+			else
 			{
-				ByteArrayOutputStream patchOs = new ByteArrayOutputStream(756 * 1024);
-				int patchCount = 0;
-
-				for (Map.Entry<String, byte[]> file : zipFile.entrySet())
-				{
-					byte[] bytes;
-					try (InputStream is = ClientLoader.class.getResourceAsStream("/patch/" + file.getKey() + ".bs"))
-					{
-						if (is == null)
-						{
-							continue;
-						}
-
-						bytes = ByteStreams.toByteArray(is);
-					}
-
-					patchOs.reset();
-					Patch.patch(file.getValue(), bytes, patchOs);
-					file.setValue(patchOs.toByteArray());
-
-					++patchCount;
-				}
-
-				log.debug("Patched {} classes", patchCount);
+				gamepack = gamepackCache.load(url, "vanilla", classes -> false);
 			}
 
 			String initialClass = config.getInitialClass();
@@ -184,13 +119,13 @@ public class ClientLoader
 				protected Class<?> findClass(String name) throws ClassNotFoundException
 				{
 					String path = name.replace('.', '/').concat(".class");
-					byte[] data = zipFile.get(path);
+					ByteBuffer data = gamepack.get(path);
 					if (data == null)
 					{
 						throw new ClassNotFoundException(name);
 					}
 
-					return defineClass(name, data, 0, data.length);
+					return defineClass(name, data, (ProtectionDomain) null);
 				}
 			};
 
@@ -200,8 +135,7 @@ public class ClientLoader
 			rs.setStub(new RSAppletStub(config));
 			return rs;
 		}
-		catch (IOException | ClassNotFoundException | InstantiationException | IllegalAccessException
-			| CompressorException | InvalidHeaderException e)
+		catch (IOException | ClassNotFoundException | InstantiationException | IllegalAccessException e)
 		{
 			if (e instanceof ClassNotFoundException)
 			{
@@ -215,4 +149,113 @@ public class ClientLoader
 			return null;
 		}
 	}
+
+	/**
+	 * Identifies the patches we apply, so the gamepack cache is invalidated when they change
+	 */
+	private static String patchSetKey(Map<String, String> hashes) throws IOException
+	{
+		Hasher hasher = Hashing.sha256().newHasher();
+		for (Map.Entry<String, String> file : new TreeMap<>(hashes).entrySet())
+		{
+			hasher.putString(file.getKey(), StandardCharsets.UTF_8);
+			hasher.putString(file.getValue(), StandardCharsets.UTF_8);
+
+			byte[] patch = loadPatch(file.getKey());
+			if (patch != null)
+			{
+				hasher.putBytes(patch);
+			}
+		}
+		return hasher.hash().toString();
+	}
+
+	private static byte[] loadPatch(String name) throws IOException
+	{
+		try (InputStream is = ClientLoader.class.getResourceAsStream("/patch/" + name + ".bs"))
+		{
+			if (is == null)
+			{
+				return null;
+			}
+
+			return ByteStreams.toByteArray(is);
+		}
+	}
+
+	/**
+	 * Patch the gamepack classes if they are the ones our patches are for
+	 *
+	 * @return whether the classes were patched
+	 */
+	private static boolean patch(Map<String, byte[]> zipFile, Map<String, String> hashes) throws IOException
+	{
+		for (Map.Entry<String, String> file : hashes.entrySet())
+		{
+			byte[] bytes = zipFile.get(file.getKey());
+
+			String ourHash = null;
+			if (bytes != null)
+			{
+				ourHash = Hashing.sha512().hashBytes(bytes).toString();
+			}
+
+			if (!file.getValue().equals(ourHash))
+			{
+				log.debug("{} had a hash mismatch; falling back to vanilla. {} != {}", file.getKey(), file.getValue(), ourHash);
+				return false;
+			}
+		}
+
+		// each class is patched independently, so spread them over all cores
+		ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+			new ThreadFactoryBuilder()
+				.setNameFormat("gamepack-patcher-%d")
+				.setDaemon(true)
+				.build());
+		try
+		{
+			Map<String, Future<byte[]>> patched = new HashMap<>();
+			for (Map.Entry<String, byte[]> file : zipFile.entrySet())
+			{
+				byte[] patch = loadPatch(file.getKey());
+				if (patch == null)
+				{
+					continue;
+				}
+
+				byte[] bytes = file.getValue();
+				patched.put(file.getKey(), executor.submit(() ->
+				{
+					ByteArrayOutputStream patchOs = new ByteArrayOutputStream(bytes.length + patch.length);
+					Patch.patch(bytes, patch, patchOs);
+					return patchOs.toByteArray();
+				}));
+			}
+
+			for (Map.Entry<String, Future<byte[]>> file : patched.entrySet())
+			{
+				try
+				{
+					zipFile.put(file.getKey(), file.getValue().get());
+				}
+				catch (ExecutionException ex)
+				{
+					throw new IOException("Unable to patch " + file.getKey(), ex.getCause());
+				}
+			}
+
+			log.debug("Patched {} classes", patched.size());
+			return true;
+		}
+		catch (InterruptedException ex)
+		{
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("interrupted patching gamepack");
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+	}
 }
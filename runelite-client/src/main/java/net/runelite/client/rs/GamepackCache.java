@@ -0,0 +1,434 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.rs;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarInputStream;
+import java.util.zip.CRC32;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.RuneLite;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * An on-disk cache of the gamepack, holding the already patched classes of the last gamepack
+ * downloaded in a single archive which is memory mapped on load. The gamepack is only downloaded
+ * again when the server says it has changed, or when the patch set the cached classes were
+ * patched with is different.
+ */
+@Slf4j
+@Singleton
+class GamepackCache
+{
+	private static final int MAGIC = 0x524c4750; // RLGP
+	private static final int VERSION = 2;
+	private static final String CACHE_FILE = "gamepack.cache";
+
+	/**
+	 * Transforms the classes of a freshly downloaded gamepack before they are cached
+	 */
+	interface Patcher
+	{
+		/**
+		 * @param classes jar entry names to their contents, which may be replaced
+		 * @return whether the classes were patched
+		 */
+		boolean patch(Map<String, byte[]> classes) throws IOException;
+	}
+
+	static class Gamepack
+	{
+		private final Map<String, ByteBuffer> entries;
+
+		@Getter
+		private final boolean patched;
+
+		private Gamepack(Map<String, ByteBuffer> entries, boolean patched)
+		{
+			this.entries = entries;
+			this.patched = patched;
+		}
+
+		/**
+		 * Get the contents of a jar entry, or null if the gamepack has no such entry
+		 */
+		ByteBuffer get(String name)
+		{
+			final ByteBuffer buffer = entries.get(name);
+			return buffer == null ? null : buffer.duplicate();
+		}
+
+		int size()
+		{
+			return entries.size();
+		}
+	}
+
+	private static class Header
+	{
+		private String jar;
+		private String etag;
+		private String lastModified;
+		private String key;
+		private boolean patched;
+		/**
+		 * CRC32 of the data region
+		 */
+		private int checksum;
+		private int dataOffset;
+		private final Map<String, Integer> entries = new LinkedHashMap<>();
+	}
+
+	private final OkHttpClient httpClient;
+	private final File directory;
+
+	@Inject
+	GamepackCache(final OkHttpClient httpClient)
+	{
+		this(httpClient, new File(RuneLite.RUNELITE_DIR, "gamepack"));
+	}
+
+	@VisibleForTesting
+	GamepackCache(final OkHttpClient httpClient, final File directory)
+	{
+		this.httpClient = httpClient;
+		this.directory = directory;
+	}
+
+	/**
+	 * Load the gamepack at the given url, from the cache if the server has not changed it and it
+	 * was patched with the same patch set
+	 *
+	 * @param url gamepack url
+	 * @param key identifies the patch set, cached gamepacks with a different key are ignored
+	 * @param patcher applied to a newly downloaded gamepack
+	 */
+	Gamepack load(URL url, String key, Patcher patcher) throws IOException
+	{
+		final File file = new File(directory, CACHE_FILE);
+		final String jar = new File(url.getPath()).getName();
+
+		Header header = null;
+		if (file.exists())
+		{
+			try
+			{
+				header = readHeader(file);
+			}
+			catch (IOException ex)
+			{
+				log.warn("Unable to read gamepack cache", ex);
+			}
+		}
+
+		final Request.Builder request = new Request.Builder()
+			.url(url);
+		final boolean conditional = header != null && header.jar.equals(jar) && header.key.equals(key);
+		if (conditional)
+		{
+			if (!header.etag.isEmpty())
+			{
+				request.header("If-None-Match", header.etag);
+			}
+			if (!header.lastModified.isEmpty())
+			{
+				request.header("If-Modified-Since", header.lastModified);
+			}
+		}
+
+		try (Response response = httpClient.newCall(request.build()).execute())
+		{
+			if (response.code() != 304 || !conditional)
+			{
+				return store(file, jar, key, patcher, response);
+			}
+
+			try
+			{
+				final Gamepack cached = open(file, header);
+				log.debug("Gamepack {} is unchanged, using {} cached classes", jar, cached.size());
+				return cached;
+			}
+			catch (IOException ex)
+			{
+				log.warn("Unable to open gamepack cache, downloading it again", ex);
+			}
+		}
+
+		// the cached gamepack is unusable, so download it again unconditionally
+		try (Response response = httpClient.newCall(new Request.Builder().url(url).build()).execute())
+		{
+			return store(file, jar, key, patcher, response);
+		}
+	}
+
+	/**
+	 * Patch a downloaded gamepack and replace the cache with it. If the cache can't be written,
+	 * for example because a previous archive is still mapped, the classes are served from memory.
+	 */
+	private Gamepack store(File file, String jar, String key, Patcher patcher, Response response) throws IOException
+	{
+		if (!response.isSuccessful())
+		{
+			throw new IOException("Unable to download gamepack: " + response.code());
+		}
+
+		final Map<String, byte[]> classes = read(response.body().byteStream());
+		final boolean patched = patcher.patch(classes);
+
+		final Header header = new Header();
+		header.jar = jar;
+		header.etag = headerOrEmpty(response, "ETag");
+		header.lastModified = headerOrEmpty(response, "Last-Modified");
+		header.key = key;
+		header.patched = patched;
+
+		try
+		{
+			write(file, header, classes);
+			return open(file, readHeader(file));
+		}
+		catch (IOException ex)
+		{
+			log.warn("Unable to write gamepack cache", ex);
+
+			final Map<String, ByteBuffer> entries = new HashMap<>(classes.size());
+			for (Map.Entry<String, byte[]> entry : classes.entrySet())
+			{
+				entries.put(entry.getKey(), ByteBuffer.wrap(entry.getValue()));
+			}
+			return new Gamepack(entries, patched);
+		}
+	}
+
+	private static String headerOrEmpty(Response response, String name)
+	{
+		final String value = response.header(name);
+		return value == null ? "" : value;
+	}
+
+	private static Map<String, byte[]> read(InputStream in) throws IOException
+	{
+		final Map<String, byte[]> classes = new LinkedHashMap<>();
+		final JarInputStream jis = new JarInputStream(in);
+
+		byte[] tmp = new byte[4096];
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream(756 * 1024);
+		for (; ; )
+		{
+			JarEntry metadata = jis.getNextJarEntry();
+			if (metadata == null)
+			{
+				break;
+			}
+
+			buffer.reset();
+			for (; ; )
+			{
+				int n = jis.read(tmp);
+				if (n <= -1)
+				{
+					break;
+				}
+				buffer.write(tmp, 0, n);
+			}
+
+			classes.put(metadata.getName(), buffer.toByteArray());
+		}
+
+		return classes;
+	}
+
+	/**
+	 * Write the archive to a temporary file first and move it into place, so a partially
+	 * written archive is never read
+	 */
+	private void write(File file, Header header, Map<String, byte[]> classes) throws IOException
+	{
+		directory.mkdirs();
+
+		final ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(headerBytes))
+		{
+			out.writeInt(VERSION);
+			out.writeUTF(header.jar);
+			out.writeUTF(header.etag);
+			out.writeUTF(header.lastModified);
+			out.writeUTF(header.key);
+			out.writeBoolean(header.patched);
+			out.writeInt(checksum(classes));
+			out.writeInt(classes.size());
+			for (Map.Entry<String, byte[]> entry : classes.entrySet())
+			{
+				out.writeUTF(entry.getKey());
+				out.writeInt(entry.getValue().length);
+			}
+		}
+
+		final File tmp = File.createTempFile(CACHE_FILE, ".tmp", directory);
+		try
+		{
+			try (OutputStream os = new FileOutputStream(tmp);
+				DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os, 64 * 1024)))
+			{
+				out.writeInt(MAGIC);
+				out.writeInt(headerBytes.size());
+				headerBytes.writeTo(out);
+				for (byte[] data : classes.values())
+				{
+					out.write(data);
+				}
+			}
+
+			Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		finally
+		{
+			tmp.delete();
+		}
+	}
+
+	private static int checksum(Map<String, byte[]> classes)
+	{
+		final CRC32 crc = new CRC32();
+		for (byte[] data : classes.values())
+		{
+			crc.update(data);
+		}
+		return (int) crc.getValue();
+	}
+
+	private static Header readHeader(File file) throws IOException
+	{
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file))))
+		{
+			if (in.readInt() != MAGIC)
+			{
+				throw new IOException("not a gamepack cache");
+			}
+
+			final int headerLength = in.readInt();
+			if (in.readInt() != VERSION)
+			{
+				throw new IOException("gamepack cache version mismatch");
+			}
+
+			final Header header = new Header();
+			header.jar = in.readUTF();
+			header.etag = in.readUTF();
+			header.lastModified = in.readUTF();
+			header.key = in.readUTF();
+			header.patched = in.readBoolean();
+			header.checksum = in.readInt();
+
+			final int count = in.readInt();
+			for (int i = 0; i < count; ++i)
+			{
+				header.entries.put(in.readUTF(), in.readInt());
+			}
+
+			header.dataOffset = 8 + headerLength;
+			return header;
+		}
+	}
+
+	private static Gamepack open(File file, Header header) throws IOException
+	{
+		final MappedByteBuffer buffer;
+		try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+			FileChannel channel = raf.getChannel())
+		{
+			// the mapping remains valid after the channel is closed
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+
+		try
+		{
+			long dataLength = 0;
+			for (int length : header.entries.values())
+			{
+				dataLength += length;
+			}
+
+			if (buffer.capacity() != header.dataOffset + dataLength)
+			{
+				throw new IOException("gamepack cache is " + buffer.capacity() + " bytes, expected " + (header.dataOffset + dataLength));
+			}
+
+			// check the classes before they are defined, as a corrupt class would fail on every launch
+			final CRC32 crc = new CRC32();
+			buffer.position(header.dataOffset);
+			crc.update(buffer.duplicate());
+			if ((int) crc.getValue() != header.checksum)
+			{
+				throw new IOException("gamepack cache checksum mismatch");
+			}
+
+			final Map<String, ByteBuffer> entries = new HashMap<>(header.entries.size());
+			for (Map.Entry<String, Integer> entry : header.entries.entrySet())
+			{
+				final int length = entry.getValue();
+				final ByteBuffer slice = buffer.slice();
+				slice.limit(length);
+				entries.put(entry.getKey(), slice.asReadOnlyBuffer());
+				buffer.position(buffer.position() + length);
+			}
+
+			return new Gamepack(Collections.unmodifiableMap(entries), header.patched);
+		}
+		catch (IllegalArgumentException ex)
+		{
+			// a negative entry length in a corrupt header
+			throw new IOException("corrupt gamepack cache", ex);
+		}
+	}
+}
@@ -25,20 +25,35 @@
 package net.runelite.client.task;
 
 import java.lang.reflect.Method;
-import java.time.Instant;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 public class ScheduledMethod
 {
 	private final Schedule schedule;
 	private final Method method;
 	private final Object object;
-	private Instant last = Instant.now();
+	private final long periodNanos;
+
+	// guarded by the scheduler
+	long nextRun;
+
+	// set while an asynchronous run is queued or running
+	final AtomicBoolean running = new AtomicBoolean();
+
+	private final LongAdder runs = new LongAdder();
+	private final LongAdder totalNanos = new LongAdder();
+	private final AtomicLong maxNanos = new AtomicLong();
+	private final LongAdder skipped = new LongAdder();
 
 	public ScheduledMethod(Schedule schedule, Method method, Object object)
 	{
 		this.schedule = schedule;
 		this.method = method;
 		this.object = object;
+		this.periodNanos = Math.max(1, Duration.of(schedule.period(), schedule.unit()).toNanos());
 	}
 
 	@Override
@@ -62,13 +77,52 @@ public class ScheduledMethod
 		return object;
 	}
 
-	public Instant getLast()
+	public long getPeriodNanos()
+	{
+		return periodNanos;
+	}
+
+	/**
+	 * @return the number of completed runs
+	 */
+	public long getRuns()
 	{
-		return last;
+		return runs.sum();
+	}
+
+	public long getTotalNanos()
+	{
+		return totalNanos.sum();
+	}
+
+	public long getMaxNanos()
+	{
+		return maxNanos.get();
+	}
+
+	/**
+	 * @return the number of asynchronous runs which were skipped, because the previous run
+	 * had not finished or the executor was full
+	 */
+	public long getSkipped()
+	{
+		return skipped.sum();
+	}
+
+	void recordRun(long nanos)
+	{
+		runs.increment();
+		totalNanos.add(nanos);
+
+		long max;
+		while (nanos > (max = maxNanos.get()) && !maxNanos.compareAndSet(max, nanos))
+		{
+			// retry
+		}
 	}
 
-	public void setLast(Instant last)
+	void recordSkipped()
 	{
-		this.last = last;
+		skipped.increment();
 	}
 }
@@ -24,76 +24,155 @@
  */
 package net.runelite.client.task;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.time.Duration;
-import java.time.Instant;
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.PriorityQueue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.profiler.Profiler;
 
 @Singleton
 @Slf4j
 public class Scheduler
 {
-	private final List<ScheduledMethod> scheduledMethods = new CopyOnWriteArrayList<>();
+	private static final int ASYNC_THREADS = 2;
+	private static final int ASYNC_QUEUE_SIZE = 64;
+
+	// ordered by next run time, so a tick only looks at the tasks which are due
+	private final PriorityQueue<ScheduledMethod> scheduledMethods = new PriorityQueue<>(
+		Comparator.comparingLong((ScheduledMethod m) -> m.nextRun));
+	private final List<ScheduledMethod> due = new ArrayList<>();
+
+	private final ExecutorService executor = new ThreadPoolExecutor(ASYNC_THREADS, ASYNC_THREADS,
+		60, TimeUnit.SECONDS,
+		new ArrayBlockingQueue<>(ASYNC_QUEUE_SIZE),
+		new ThreadFactoryBuilder()
+			.setNameFormat("scheduler-%d")
+			.setDaemon(true)
+			.build());
 
 	@Inject
-	ScheduledExecutorService executor;
+	Profiler profiler;
 
 	public void addScheduledMethod(ScheduledMethod method)
 	{
-		scheduledMethods.add(method);
+		synchronized (scheduledMethods)
+		{
+			method.nextRun = System.nanoTime() + method.getPeriodNanos();
+			scheduledMethods.add(method);
+		}
 	}
 
 	public void removeScheduledMethod(ScheduledMethod method)
 	{
-		scheduledMethods.remove(method);
+		synchronized (scheduledMethods)
+		{
+			scheduledMethods.remove(method);
+		}
 	}
 
 	public List<ScheduledMethod> getScheduledMethods()
 	{
-		return Collections.unmodifiableList(scheduledMethods);
+		synchronized (scheduledMethods)
+		{
+			return ImmutableList.copyOf(scheduledMethods);
+		}
 	}
 
+	/**
+	 * Run the scheduled methods which are due. This is cheap when nothing is due, and may be
+	 * called every frame.
+	 */
 	public void tick()
 	{
-		Instant now = Instant.now();
+		final long now = System.nanoTime();
 
-		for (ScheduledMethod scheduledMethod : scheduledMethods)
+		synchronized (scheduledMethods)
 		{
-			Instant last = scheduledMethod.getLast();
+			for (ScheduledMethod head; (head = scheduledMethods.peek()) != null && head.nextRun - now <= 0; )
+			{
+				scheduledMethods.poll();
 
-			Duration difference = Duration.between(last, now);
+				// fixed rate: the next run is relative to when this one was due, not when it ran.
+				// Periods which were missed entirely are skipped instead of run back to back.
+				final long period = head.getPeriodNanos();
+				final long missed = (now - head.nextRun) / period;
+				head.nextRun += (missed + 1) * period;
 
-			Schedule schedule = scheduledMethod.getSchedule();
-			Duration timeSinceRun = Duration.of(schedule.period(), schedule.unit());
+				scheduledMethods.add(head);
+				due.add(head);
+			}
+		}
 
-			if (difference.compareTo(timeSinceRun) > 0)
+		if (due.isEmpty())
+		{
+			return;
+		}
+
+		for (ScheduledMethod scheduledMethod : due)
+		{
+			log.trace("Scheduled task triggered: {}", scheduledMethod);
+
+			if (scheduledMethod.getSchedule().asynchronous())
+			{
+				submit(scheduledMethod);
+			}
+			else
 			{
-				log.trace("Scheduled task triggered: {}", scheduledMethod);
+				run(scheduledMethod);
+			}
+		}
 
-				scheduledMethod.setLast(now);
+		due.clear();
+	}
 
-				if (schedule.asynchronous())
+	private void submit(ScheduledMethod scheduledMethod)
+	{
+		// do not let slow asynchronous tasks pile up behind themselves
+		if (!scheduledMethod.running.compareAndSet(false, true))
+		{
+			log.debug("Skipping scheduled task which is still running: {}", scheduledMethod);
+			scheduledMethod.recordSkipped();
+			return;
+		}
+
+		try
+		{
+			executor.execute(() ->
+			{
+				try
 				{
-					executor.submit(() -> run(scheduledMethod));
+					run(scheduledMethod);
 				}
-				else
+				finally
 				{
-					run(scheduledMethod);
+					scheduledMethod.running.set(false);
 				}
-			}
+			});
+		}
+		catch (RejectedExecutionException ex)
+		{
+			log.warn("Scheduled task executor is full, skipping {}", scheduledMethod);
+			scheduledMethod.running.set(false);
+			scheduledMethod.recordSkipped();
 		}
 	}
 
 	private void run(ScheduledMethod scheduledMethod)
 	{
 		Method method = scheduledMethod.getMethod();
+		final long start = System.nanoTime();
 
 		try
 		{
@@ -107,5 +186,13 @@ public class Scheduler
 		{
 			log.warn("error during scheduled task", ex);
 		}
+
+		final long elapsed = System.nanoTime() - start;
+		scheduledMethod.recordRun(elapsed);
+
+		if (profiler.isEnabled())
+		{
+			profiler.record(Profiler.Section.SCHEDULED, method, elapsed);
+		}
 	}
 }
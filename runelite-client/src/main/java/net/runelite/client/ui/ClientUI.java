@@ -321,6 +321,7 @@ public class ClientUI
 				{
 					saveClientBoundsConfig();
 					configManager.sendConfig();
+					configManager.flush();
 					runelite.shutdown();
 				},
 				this::showWarningOnExit
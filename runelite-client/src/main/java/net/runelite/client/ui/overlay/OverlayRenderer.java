@@ -33,7 +33,10 @@ import java.awt.Point;
 import java.awt.Rectangle;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import javax.swing.SwingUtilities;
@@ -48,6 +51,7 @@ import net.runelite.client.input.KeyListener;
 import net.runelite.client.input.KeyManager;
 import net.runelite.client.input.MouseAdapter;
 import net.runelite.client.input.MouseManager;
+import net.runelite.client.profiler.Profiler;
 
 @Singleton
 public class OverlayRenderer extends MouseAdapter implements KeyListener
@@ -63,6 +67,7 @@ public class OverlayRenderer extends MouseAdapter implements KeyListener
 	private final Client client;
 	private final OverlayManager overlayManager;
 	private final RuneLiteConfig runeLiteConfig;
+	private final Profiler profiler;
 
 	// Overlay movement variables
 	private final Point overlayOffset = new Point();
@@ -77,6 +82,15 @@ public class OverlayRenderer extends MouseAdapter implements KeyListener
 	private boolean chatboxHidden;
 	private boolean isResizeable;
 	private OverlayBounds snapCorners;
+	private int snapCornersVersion;
+
+	// Per game cycle widget state
+	private int lastCycle = -1;
+	private boolean worldMapOpen;
+	private boolean clickToPlayOpen;
+	private boolean viewportVisible;
+
+	private final Map<OverlayLayer, LayerLayout> layouts = new EnumMap<>(OverlayLayer.class);
 
 	@Inject
 	private OverlayRenderer(
@@ -84,11 +98,19 @@ public class OverlayRenderer extends MouseAdapter implements KeyListener
 		final OverlayManager overlayManager,
 		final RuneLiteConfig runeLiteConfig,
 		final MouseManager mouseManager,
-		final KeyManager keyManager)
+		final KeyManager keyManager,
+		final Profiler profiler)
 	{
 		this.client = client;
 		this.overlayManager = overlayManager;
 		this.runeLiteConfig = runeLiteConfig;
+		this.profiler = profiler;
+
+		for (OverlayLayer layer : OverlayLayer.values())
+		{
+			layouts.put(layer, new LayerLayout());
+		}
+
 		keyManager.registerKeyListener(this);
 		mouseManager.registerMouseListener(this);
 	}
@@ -104,9 +126,9 @@ public class OverlayRenderer extends MouseAdapter implements KeyListener
 
 	public void render(Graphics2D graphics, final OverlayLayer layer)
 	{
-		if (layer != OverlayLayer.ABOVE_MAP
-			&& client.getWidget(WidgetInfo.FULLSCREEN_MAP_ROOT) != null
-			&& !client.getWidget(WidgetInfo.FULLSCREEN_MAP_ROOT).isHidden())
+		updateCycleState();
+
+		if (layer != OverlayLayer.ABOVE_MAP && worldMapOpen)
 		{
 			return;
 		}
@@ -116,19 +138,13 @@ public class OverlayRenderer extends MouseAdapter implements KeyListener
 		if (overlays == null
 			|| overlays.isEmpty()
 			|| client.getGameState() != GameState.LOGGED_IN
-			|| client.getWidget(WidgetInfo.LOGIN_CLICK_TO_PLAY_SCREEN) != null
-			|| client.getViewportWidget() == null)
+			|| clickToPlayOpen
+			|| !viewportVisible
+			|| snapCorners == null)
 		{
 			return;
 		}
 
-		if (shouldInvalidateBounds())
-		{
-			snapCorners = buildSnapCorners();
-		}
-
-		// Create copy of snap corners because overlays will modify them
-		OverlayBounds snapCorners = new OverlayBounds(this.snapCorners);
 		OverlayUtil.setGraphicProperties(graphics);
 
 		// Draw snap corners
@@ -149,70 +165,30 @@ public class OverlayRenderer extends MouseAdapter implements KeyListener
 			graphics.setColor(previous);
 		}
 
-		for (Overlay overlay : overlays)
-		{
-			OverlayPosition overlayPosition = overlay.getPosition();
+		final LayerLayout layout = layouts.get(layer);
+		final Dimension realDimensions = client.getRealDimensions();
 
-			if (overlay.getPreferredPosition() != null)
-			{
-				overlayPosition = overlay.getPreferredPosition();
-			}
+		if (!layout.isValid(overlays, snapCornersVersion, realDimensions))
+		{
+			layout.build(overlays, realDimensions);
+		}
 
-			if (!isResizeable)
-			{
-				// On fixed mode, ABOVE_CHATBOX_RIGHT is in the same location as
-				// BOTTOM_RIGHT and CANVAST_TOP_RIGHT is same as TOP_RIGHT.
-				// Just use BOTTOM_RIGHT and TOP_RIGHT to prevent overlays from
-				// drawing over each other.
-				switch (overlayPosition)
-				{
-					case CANVAS_TOP_RIGHT:
-						overlayPosition = OverlayPosition.TOP_RIGHT;
-						break;
-					case ABOVE_CHATBOX_RIGHT:
-						overlayPosition = OverlayPosition.BOTTOM_RIGHT;
-						break;
-				}
-			}
+		for (int i = 0; i < overlays.size(); ++i)
+		{
+			final Overlay overlay = overlays.get(i);
 
-			if (overlayPosition == OverlayPosition.DYNAMIC || overlayPosition == OverlayPosition.TOOLTIP)
+			if (layout.dynamic[i])
 			{
 				safeRender(client, overlay, layer, graphics, new Point());
 			}
 			else
 			{
-				final Point location = overlay.getBounds().getLocation();
-				final Dimension dimension = overlay.getBounds().getSize();
-
-				// If the final position is not modified, layout it
-				if (overlayPosition != OverlayPosition.DETACHED && (overlay.getPreferredLocation() == null || overlay.getPreferredPosition() != null))
-				{
-					final Rectangle snapCorner = snapCorners.forPosition(overlayPosition);
-					final Point translation = OverlayUtil.transformPosition(overlayPosition, dimension);
-					location.setLocation(snapCorner.getX() + translation.x, snapCorner.getY() + translation.y);
-					final Point padding = OverlayUtil.padPosition(overlayPosition, dimension, PADDING);
-					snapCorner.translate(padding.x, padding.y);
-				}
-				else
-				{
-					final Point preferredLocation = overlay.getPreferredLocation();
-
-					if (preferredLocation != null)
-					{
-						location.setLocation(preferredLocation);
-					}
-				}
-
-				final Dimension realDimensions = client.getRealDimensions();
-				location.x = Ints.constrainToRange(location.x, 0, realDimensions.width - dimension.width);
-				location.y = Ints.constrainToRange(location.y, 0, realDimensions.height - dimension.height);
-
 				if (overlay.getPreferredSize() != null)
 				{
 					overlay.getBounds().setSize(overlay.getPreferredSize());
 				}
 
-				safeRender(client, overlay, layer, graphics, location);
+				safeRender(client, overlay, layer, graphics, layout.locations[i]);
 				final Rectangle bounds = overlay.getBounds();
 
 				if (bounds.isEmpty())
@@ -231,6 +207,33 @@ public class OverlayRenderer extends MouseAdapter implements KeyListener
 		}
 	}
 
+	/**
+	 * Widget state only changes when the client ticks, so look it up once per game cycle
+	 * rather than for every layer of every frame
+	 */
+	private void updateCycleState()
+	{
+		final int cycle = client.getGameCycle();
+
+		if (cycle == lastCycle)
+		{
+			return;
+		}
+
+		lastCycle = cycle;
+
+		final Widget worldMap = client.getWidget(WidgetInfo.FULLSCREEN_MAP_ROOT);
+		worldMapOpen = worldMap != null && !worldMap.isHidden();
+		clickToPlayOpen = client.getWidget(WidgetInfo.LOGIN_CLICK_TO_PLAY_SCREEN) != null;
+		viewportVisible = client.getViewportWidget() != null;
+
+		if (viewportVisible && client.getGameState() == GameState.LOGGED_IN && shouldInvalidateBounds())
+		{
+			snapCorners = buildSnapCorners();
+			++snapCornersVersion;
+		}
+	}
+
 	@Override
 	public MouseEvent mousePressed(MouseEvent mouseEvent)
 	{
@@ -396,7 +399,13 @@ public class OverlayRenderer extends MouseAdapter implements KeyListener
 		}
 
 		subGraphics.translate(point.x, point.y);
+		final boolean profiling = profiler.isEnabled();
+		final long start = profiling ? System.nanoTime() : 0L;
 		final Dimension dimension = MoreObjects.firstNonNull(overlay.render(subGraphics), new Dimension());
+		if (profiling)
+		{
+			profiler.record(Profiler.Section.OVERLAY, overlay.getClass(), System.nanoTime() - start);
+		}
 		subGraphics.dispose();
 		overlay.setBounds(new Rectangle(point, dimension));
 	}
@@ -494,4 +503,138 @@ public class OverlayRenderer extends MouseAdapter implements KeyListener
 			new Rectangle(rightChatboxPoint, SNAP_CORNER_SIZE),
 			new Rectangle(canvasTopRightPoint, SNAP_CORNER_SIZE));
 	}
+
+	/**
+	 * The snap corner layout of the overlays of one layer. Overlays are laid out using the size
+	 * they rendered at last frame, so the layout only needs recomputing when an overlay's size or
+	 * position, the snap corners, the canvas size or the set of overlays changes.
+	 */
+	private class LayerLayout
+	{
+		private List<Overlay> overlays;
+		private int snapCornersVersion = -1;
+		private int canvasWidth;
+		private int canvasHeight;
+
+		// inputs of each overlay's layout
+		private OverlayPosition[] positions;
+		private OverlayPosition[] preferredPositions;
+		private Point[] preferredLocations;
+		private int[] widths;
+		private int[] heights;
+
+		// results
+		private boolean[] dynamic;
+		private Point[] locations;
+
+		boolean isValid(List<Overlay> overlays, int snapCornersVersion, Dimension realDimensions)
+		{
+			if (overlays != this.overlays
+				|| snapCornersVersion != this.snapCornersVersion
+				|| realDimensions.width != canvasWidth
+				|| realDimensions.height != canvasHeight)
+			{
+				return false;
+			}
+
+			for (int i = 0; i < overlays.size(); ++i)
+			{
+				final Overlay overlay = overlays.get(i);
+				final Rectangle bounds = overlay.getBounds();
+
+				if (overlay.getPosition() != positions[i]
+					|| overlay.getPreferredPosition() != preferredPositions[i]
+					|| !Objects.equals(overlay.getPreferredLocation(), preferredLocations[i])
+					|| bounds.width != widths[i]
+					|| bounds.height != heights[i])
+				{
+					return false;
+				}
+			}
+
+			return true;
+		}
+
+		void build(List<Overlay> overlays, Dimension realDimensions)
+		{
+			final int size = overlays.size();
+			this.overlays = overlays;
+			this.snapCornersVersion = OverlayRenderer.this.snapCornersVersion;
+			canvasWidth = realDimensions.width;
+			canvasHeight = realDimensions.height;
+			positions = new OverlayPosition[size];
+			preferredPositions = new OverlayPosition[size];
+			preferredLocations = new Point[size];
+			widths = new int[size];
+			heights = new int[size];
+			dynamic = new boolean[size];
+			locations = new Point[size];
+
+			// Create copy of snap corners because the layout modifies them
+			final OverlayBounds snapCorners = new OverlayBounds(OverlayRenderer.this.snapCorners);
+
+			for (int i = 0; i < size; ++i)
+			{
+				final Overlay overlay = overlays.get(i);
+				final Point preferredLocation = overlay.getPreferredLocation();
+
+				positions[i] = overlay.getPosition();
+				preferredPositions[i] = overlay.getPreferredPosition();
+				preferredLocations[i] = preferredLocation != null ? new Point(preferredLocation) : null;
+				widths[i] = overlay.getBounds().width;
+				heights[i] = overlay.getBounds().height;
+
+				OverlayPosition overlayPosition = overlay.getPosition();
+
+				if (overlay.getPreferredPosition() != null)
+				{
+					overlayPosition = overlay.getPreferredPosition();
+				}
+
+				if (!isResizeable)
+				{
+					// On fixed mode, ABOVE_CHATBOX_RIGHT is in the same location as
+					// BOTTOM_RIGHT and CANVAST_TOP_RIGHT is same as TOP_RIGHT.
+					// Just use BOTTOM_RIGHT and TOP_RIGHT to prevent overlays from
+					// drawing over each other.
+					switch (overlayPosition)
+					{
+						case CANVAS_TOP_RIGHT:
+							overlayPosition = OverlayPosition.TOP_RIGHT;
+							break;
+						case ABOVE_CHATBOX_RIGHT:
+							overlayPosition = OverlayPosition.BOTTOM_RIGHT;
+							break;
+					}
+				}
+
+				if (overlayPosition == OverlayPosition.DYNAMIC || overlayPosition == OverlayPosition.TOOLTIP)
+				{
+					dynamic[i] = true;
+					continue;
+				}
+
+				final Point location = overlay.getBounds().getLocation();
+				final Dimension dimension = overlay.getBounds().getSize();
+
+				// If the final position is not modified, layout it
+				if (overlayPosition != OverlayPosition.DETACHED && (preferredLocation == null || overlay.getPreferredPosition() != null))
+				{
+					final Rectangle snapCorner = snapCorners.forPosition(overlayPosition);
+					final Point translation = OverlayUtil.transformPosition(overlayPosition, dimension);
+					location.setLocation(snapCorner.getX() + translation.x, snapCorner.getY() + translation.y);
+					final Point padding = OverlayUtil.padPosition(overlayPosition, dimension, PADDING);
+					snapCorner.translate(padding.x, padding.y);
+				}
+				else if (preferredLocation != null)
+				{
+					location.setLocation(preferredLocation);
+				}
+
+				location.x = Ints.constrainToRange(location.x, 0, realDimensions.width - dimension.width);
+				location.y = Ints.constrainToRange(location.y, 0, realDimensions.height - dimension.height);
+				locations[i] = location;
+			}
+		}
+	}
 }
@@ -32,10 +32,12 @@ import java.awt.FontMetrics;
 import java.awt.Graphics2D;
 import java.awt.Point;
 import lombok.Builder;
+import lombok.EqualsAndHashCode;
 import lombok.Setter;
 
 @Setter
-@Builder
+@Builder(toBuilder = true)
+@EqualsAndHashCode
 public class LineComponent implements LayoutableRenderableEntity
 {
 	private String left;
@@ -48,9 +50,11 @@ public class LineComponent implements LayoutableRenderableEntity
 	private Color rightColor = Color.WHITE;
 
 	@Builder.Default
+	@EqualsAndHashCode.Exclude
 	private Point preferredLocation = new Point();
 
 	@Builder.Default
+	@EqualsAndHashCode.Exclude
 	private Dimension preferredSize = new Dimension(ComponentConstants.STANDARD_WIDTH, 0);
 
 	@Override
@@ -26,11 +26,14 @@ package net.runelite.client.ui.overlay.components;
 
 import java.awt.Color;
 import java.awt.Dimension;
+import java.awt.Font;
 import java.awt.Graphics2D;
 import java.awt.Point;
 import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import javax.annotation.Nullable;
 import lombok.Getter;
 import lombok.Setter;
@@ -72,8 +75,22 @@ public class PanelComponent implements LayoutableRenderableEntity
 	@Setter
 	private Point gap = new Point(0, 0);
 
+	/**
+	 * Render the panel to an image which is redrawn until the panel's content changes.
+	 * Only panels made up of {@link LineComponent}s and {@link TitleComponent}s are cached.
+	 */
+	@Setter
+	private boolean cached;
+
 	private final Dimension childDimensions = new Dimension();
 
+	private int lastHash;
+	private Content lastContent;
+	private Dimension lastDimension;
+	private int cachedHash;
+	private Content cachedContent;
+	private BufferedImage cachedImage;
+
 	@Override
 	public Dimension render(Graphics2D graphics)
 	{
@@ -82,8 +99,122 @@ public class PanelComponent implements LayoutableRenderableEntity
 			return null;
 		}
 
+		if (cached && isCacheable())
+		{
+			// The hash is only a pre-check, the content is compared against a copy taken when it changed
+			final int hash = contentHash(graphics);
+
+			if (cachedImage != null && hash == cachedHash && cachedContent.matches(this, graphics))
+			{
+				graphics.drawImage(cachedImage, preferredLocation.x, preferredLocation.y, null);
+				return new Dimension(lastDimension);
+			}
+
+			cachedImage = null;
+			cachedContent = null;
+
+			final boolean unchanged = hash == lastHash && lastContent != null && lastContent.matches(this, graphics);
+
+			// The panel size lags its content by a frame, so only cache content which
+			// was also rendered last frame
+			if (unchanged && lastDimension != null && !lastDimension.equals(new Dimension()))
+			{
+				final BufferedImage image = new BufferedImage(lastDimension.width, lastDimension.height, BufferedImage.TYPE_INT_ARGB);
+				final Graphics2D imageGraphics = image.createGraphics();
+				imageGraphics.setFont(graphics.getFont());
+				imageGraphics.setRenderingHints(graphics.getRenderingHints());
+				final Dimension dimension = renderPanel(imageGraphics);
+				imageGraphics.dispose();
+
+				if (dimension.equals(lastDimension))
+				{
+					cachedImage = image;
+					cachedHash = hash;
+					cachedContent = lastContent;
+					graphics.drawImage(image, preferredLocation.x, preferredLocation.y, null);
+					return dimension;
+				}
+			}
+
+			if (!unchanged)
+			{
+				lastHash = hash;
+				lastContent = new Content(this, graphics);
+			}
+		}
+
 		graphics.translate(preferredLocation.x, preferredLocation.y);
+		final Dimension dimension = renderPanel(graphics);
+		graphics.translate(-preferredLocation.x, -preferredLocation.y);
+		lastDimension = new Dimension(dimension);
+		return dimension;
+	}
 
+	private boolean isCacheable()
+	{
+		for (LayoutableRenderableEntity child : children)
+		{
+			if (!(child instanceof LineComponent) && !(child instanceof TitleComponent))
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private int contentHash(Graphics2D graphics)
+	{
+		return Objects.hash(children, graphics.getFont(), backgroundColor, preferredSize, orientation, wrapping, border, gap);
+	}
+
+	/**
+	 * A copy of everything a cached panel image depends on
+	 */
+	private static final class Content
+	{
+		private final List<LayoutableRenderableEntity> children;
+		private final Font font;
+		private final Color backgroundColor;
+		private final Dimension preferredSize;
+		private final Orientation orientation;
+		private final int wrapping;
+		private final Rectangle border;
+		private final Point gap;
+
+		private Content(PanelComponent panel, Graphics2D graphics)
+		{
+			children = new ArrayList<>(panel.children.size());
+			for (LayoutableRenderableEntity child : panel.children)
+			{
+				// children are mutable, so copy them
+				children.add(child instanceof LineComponent
+					? ((LineComponent) child).toBuilder().build()
+					: ((TitleComponent) child).toBuilder().build());
+			}
+			font = graphics.getFont();
+			backgroundColor = panel.backgroundColor;
+			preferredSize = new Dimension(panel.preferredSize);
+			orientation = panel.orientation;
+			wrapping = panel.wrapping;
+			border = new Rectangle(panel.border);
+			gap = new Point(panel.gap);
+		}
+
+		private boolean matches(PanelComponent panel, Graphics2D graphics)
+		{
+			return children.equals(panel.children)
+				&& Objects.equals(font, graphics.getFont())
+				&& Objects.equals(backgroundColor, panel.backgroundColor)
+				&& preferredSize.equals(panel.preferredSize)
+				&& orientation == panel.orientation
+				&& wrapping == panel.wrapping
+				&& border.equals(panel.border)
+				&& gap.equals(panel.gap);
+		}
+	}
+
+	private Dimension renderPanel(Graphics2D graphics)
+	{
 		// Calculate panel dimension
 		final Dimension dimension = new Dimension(
 			border.x + childDimensions.width + border.width,
@@ -174,7 +305,6 @@ public class PanelComponent implements LayoutableRenderableEntity
 		// Cache children bounds
 		childDimensions.setSize(totalWidth, totalHeight);
 
-		graphics.translate(-preferredLocation.x, -preferredLocation.y);
 		return dimension;
 	}
 }
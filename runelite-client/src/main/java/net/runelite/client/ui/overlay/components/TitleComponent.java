@@ -30,10 +30,12 @@ import java.awt.FontMetrics;
 import java.awt.Graphics2D;
 import java.awt.Point;
 import lombok.Builder;
+import lombok.EqualsAndHashCode;
 import lombok.Setter;
 
 @Setter
-@Builder
+@Builder(toBuilder = true)
+@EqualsAndHashCode
 public class TitleComponent implements LayoutableRenderableEntity
 {
 	private String text;
@@ -42,9 +44,11 @@ public class TitleComponent implements LayoutableRenderableEntity
 	private Color color = Color.WHITE;
 
 	@Builder.Default
+	@EqualsAndHashCode.Exclude
 	private Point preferredLocation = new Point();
 
 	@Builder.Default
+	@EqualsAndHashCode.Exclude
 	private Dimension preferredSize = new Dimension(ComponentConstants.STANDARD_WIDTH, 0);
 
 	@Override
@@ -24,12 +24,18 @@
  */
 package net.runelite.client.util;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Consumer;
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
 import net.runelite.api.Constants;
 import net.runelite.api.GameState;
@@ -52,6 +58,7 @@ import net.runelite.api.events.WallObjectSpawned;
 import net.runelite.client.callback.ClientThread;
 import net.runelite.client.eventbus.EventBus;
 
+@Slf4j
 @Singleton
 public class GameEventManager
 {
@@ -102,15 +109,26 @@ public class GameEventManager
 	 */
 	public void simulateGameEvents(Object subscriber)
 	{
-		if (client.getGameState() != GameState.LOGGED_IN)
+		simulateGameEvents(Collections.singletonList(subscriber));
+	}
+
+	/**
+	 * Simulate game events for many EventBus subscribers, walking the scene once for all of them
+	 *
+	 * @param subscribers EventBus subscribers
+	 */
+	public void simulateGameEvents(Collection<?> subscribers)
+	{
+		if (client.getGameState() != GameState.LOGGED_IN || subscribers.isEmpty())
 		{
 			return;
 		}
 
+		final List<Object> subscriberList = new ArrayList<>(subscribers);
+
 		clientThread.invoke(() ->
 		{
-
-			eventBus.register(subscriber);
+			register(subscriberList);
 
 			for (final InventoryID inventory : InventoryID.values())
 			{
@@ -192,7 +210,35 @@ public class GameEventManager
 				});
 			});
 
-			eventBus.unregister(subscriber);
+			subscriberList.forEach(eventBus::unregister);
 		});
 	}
+
+	/**
+	 * Register subscribers in bulk, or one at a time if any are invalid so the others still
+	 * receive the events. Invalid subscribers are removed from the list.
+	 */
+	private void register(List<Object> subscribers)
+	{
+		try
+		{
+			eventBus.registerAll(subscribers);
+		}
+		catch (IllegalArgumentException ex)
+		{
+			for (Iterator<Object> it = subscribers.iterator(); it.hasNext(); )
+			{
+				final Object subscriber = it.next();
+				try
+				{
+					eventBus.register(subscriber);
+				}
+				catch (IllegalArgumentException ex2)
+				{
+					log.warn("Unable to simulate game events for {}", subscriber.getClass().getSimpleName(), ex2);
+					it.remove();
+				}
+			}
+		}
+	}
 }
@@ -0,0 +1,402 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.util;
+
+import com.google.common.base.Splitter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * A compiled list of wildcard patterns, such as a comma separated highlight list, which is
+ * matched case insensitively against whole names. A {@code *} matches any number of
+ * characters.
+ * <p>
+ * Patterns without a wildcard are looked up in a hash table. The rest are run together as a
+ * bit-parallel automaton, with each 64 bit word of state holding as many whole patterns as
+ * fit, so matching a name is one pass over it per word. Matching does not allocate.
+ */
+public class WildcardSet
+{
+	public static final WildcardSet EMPTY = new WildcardSet(Collections.emptyList());
+
+	private static final Splitter COMMA_SPLITTER = Splitter
+		.on(",")
+		.omitEmptyStrings()
+		.trimResults();
+
+	private static final int ASCII = 128;
+
+	/**
+	 * Exact patterns, case folded, open addressed by their folded hash
+	 */
+	private final String[] exact;
+	private final int exactMask;
+
+	/**
+	 * Folded non ascii characters used by the wildcard patterns, sorted
+	 */
+	private final char[] alphabet;
+	/**
+	 * For each word of state, the states entered on each character. Ascii characters index
+	 * directly and the others by their alphabet index plus {@link #ASCII}.
+	 */
+	private final long[][] charMasks;
+	private final long[] start;
+	private final long[] selfLoop;
+	private final long[] accept;
+
+	/**
+	 * Wildcard patterns with more than 64 states, matched one at a time
+	 */
+	private final String[] longPatterns;
+
+	private final boolean empty;
+
+	private WildcardSet(Iterable<String> patterns)
+	{
+		Set<String> exactPatterns = new LinkedHashSet<>();
+		Set<String> globPatterns = new LinkedHashSet<>();
+		List<String> longGlobs = new ArrayList<>();
+
+		for (String pattern : patterns)
+		{
+			pattern = pattern.trim();
+			if (pattern.isEmpty())
+			{
+				continue;
+			}
+
+			String folded = foldPattern(pattern);
+			if (folded.indexOf('*') == -1)
+			{
+				exactPatterns.add(folded);
+			}
+			else if (states(folded) > Long.SIZE)
+			{
+				longGlobs.add(folded);
+			}
+			else
+			{
+				globPatterns.add(folded);
+			}
+		}
+
+		empty = exactPatterns.isEmpty() && globPatterns.isEmpty() && longGlobs.isEmpty();
+		longPatterns = longGlobs.toArray(new String[0]);
+
+		int tableSize = Integer.highestOneBit(Math.max(1, exactPatterns.size() * 2)) << 1;
+		exact = new String[tableSize];
+		exactMask = tableSize - 1;
+		for (String pattern : exactPatterns)
+		{
+			int slot = hash(pattern) & exactMask;
+			while (exact[slot] != null)
+			{
+				slot = (slot + 1) & exactMask;
+			}
+			exact[slot] = pattern;
+		}
+
+		Set<Character> nonAscii = new TreeSet<>();
+		for (String pattern : globPatterns)
+		{
+			for (int i = 0; i < pattern.length(); ++i)
+			{
+				char c = pattern.charAt(i);
+				if (c >= ASCII && c != '*')
+				{
+					nonAscii.add(c);
+				}
+			}
+		}
+
+		alphabet = new char[nonAscii.size()];
+		int idx = 0;
+		for (char c : nonAscii)
+		{
+			alphabet[idx++] = c;
+		}
+
+		// pack whole patterns into words, so that no state transition crosses a word
+		int words = 0;
+		int bits = Long.SIZE;
+		for (String pattern : globPatterns)
+		{
+			int states = states(pattern);
+			if (bits + states > Long.SIZE)
+			{
+				++words;
+				bits = 0;
+			}
+			bits += states;
+		}
+
+		charMasks = new long[words][ASCII + alphabet.length];
+		start = new long[words];
+		selfLoop = new long[words];
+		accept = new long[words];
+
+		int word = -1;
+		bits = Long.SIZE;
+		for (String pattern : globPatterns)
+		{
+			int states = states(pattern);
+			if (bits + states > Long.SIZE)
+			{
+				++word;
+				bits = 0;
+			}
+
+			// the first state of a pattern is entered before any character is read, and
+			// each literal character has a state of its own. A wildcard loops on the
+			// state before it.
+			int state = bits;
+			start[word] |= 1L << state;
+			for (int i = 0; i < pattern.length(); ++i)
+			{
+				char c = pattern.charAt(i);
+				if (c == '*')
+				{
+					selfLoop[word] |= 1L << state;
+				}
+				else
+				{
+					++state;
+					charMasks[word][index(c)] |= 1L << state;
+				}
+			}
+			accept[word] |= 1L << state;
+
+			bits += states;
+		}
+	}
+
+	/**
+	 * Compile a comma separated list of patterns
+	 */
+	public static WildcardSet parse(String list)
+	{
+		if (list == null || list.isEmpty())
+		{
+			return EMPTY;
+		}
+
+		return new WildcardSet(COMMA_SPLITTER.split(list));
+	}
+
+	public static WildcardSet of(Iterable<String> patterns)
+	{
+		return new WildcardSet(patterns);
+	}
+
+	public boolean isEmpty()
+	{
+		return empty;
+	}
+
+	/**
+	 * Test if any pattern matches the whole of the given name, ignoring case
+	 */
+	public boolean matches(String text)
+	{
+		if (text == null || text.isEmpty() || empty)
+		{
+			return false;
+		}
+
+		return matchesExact(text) || matchesGlob(text) || matchesLong(text);
+	}
+
+	private boolean matchesExact(String text)
+	{
+		for (int slot = hash(text) & exactMask; exact[slot] != null; slot = (slot + 1) & exactMask)
+		{
+			String pattern = exact[slot];
+			if (pattern.length() == text.length() && equalsFolded(pattern, text))
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean matchesGlob(String text)
+	{
+		final int length = text.length();
+
+		for (int word = 0; word < charMasks.length; ++word)
+		{
+			final long[] masks = charMasks[word];
+			final long loop = selfLoop[word];
+			long state = start[word];
+
+			for (int i = 0; i < length && state != 0; ++i)
+			{
+				int idx = index(fold(text.charAt(i)));
+				long mask = idx < 0 ? 0 : masks[idx];
+				state = ((state << 1) & mask) | (state & loop);
+			}
+
+			if ((state & accept[word]) != 0)
+			{
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private boolean matchesLong(String text)
+	{
+		for (String pattern : longPatterns)
+		{
+			if (globMatches(pattern, text))
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private int index(char c)
+	{
+		if (c < ASCII)
+		{
+			return c;
+		}
+
+		int idx = Arrays.binarySearch(alphabet, c);
+		return idx < 0 ? -1 : ASCII + idx;
+	}
+
+	/**
+	 * Backtracking glob match of an already folded pattern
+	 */
+	private static boolean globMatches(String pattern, String text)
+	{
+		int p = 0, t = 0;
+		int starP = -1, starT = 0;
+
+		while (t < text.length())
+		{
+			if (p < pattern.length() && pattern.charAt(p) == '*')
+			{
+				starP = p++;
+				starT = t;
+			}
+			else if (p < pattern.length() && pattern.charAt(p) == fold(text.charAt(t)))
+			{
+				++p;
+				++t;
+			}
+			else if (starP != -1)
+			{
+				p = starP + 1;
+				t = ++starT;
+			}
+			else
+			{
+				return false;
+			}
+		}
+
+		while (p < pattern.length() && pattern.charAt(p) == '*')
+		{
+			++p;
+		}
+		return p == pattern.length();
+	}
+
+	private static boolean equalsFolded(String folded, String text)
+	{
+		for (int i = 0; i < folded.length(); ++i)
+		{
+			if (folded.charAt(i) != fold(text.charAt(i)))
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static int hash(String text)
+	{
+		int h = 0;
+		for (int i = 0; i < text.length(); ++i)
+		{
+			h = 31 * h + fold(text.charAt(i));
+		}
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * Number of automaton states a folded pattern needs: one to start with, plus one for
+	 * each literal character
+	 */
+	private static int states(String pattern)
+	{
+		int states = 1;
+		for (int i = 0; i < pattern.length(); ++i)
+		{
+			if (pattern.charAt(i) != '*')
+			{
+				++states;
+			}
+		}
+		return states;
+	}
+
+	/**
+	 * Fold the case of a pattern and collapse runs of wildcards
+	 */
+	private static String foldPattern(String pattern)
+	{
+		StringBuilder sb = new StringBuilder(pattern.length());
+		for (int i = 0; i < pattern.length(); ++i)
+		{
+			char c = pattern.charAt(i);
+			if (c == '*' && sb.length() > 0 && sb.charAt(sb.length() - 1) == '*')
+			{
+				continue;
+			}
+			sb.append(fold(c));
+		}
+		return sb.toString();
+	}
+
+	private static char fold(char c)
+	{
+		if (c < ASCII)
+		{
+			return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+		}
+		return Character.toLowerCase(Character.toUpperCase(c));
+	}
+}
@@ -31,6 +31,8 @@ import java.io.IOException;
 import java.time.Instant;
 import java.util.UUID;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import javax.inject.Inject;
 import net.runelite.client.account.AccountSession;
 import net.runelite.client.eventbus.EventBus;
@@ -38,7 +40,13 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
 import org.mockito.Mock;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import org.mockito.runners.MockitoJUnitRunner;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -99,6 +107,36 @@ public class ConfigManagerTest
 		Assert.assertEquals("new value", conf.key());
 	}
 
+	@Test
+	public void testGetConfigInvalidation() throws IOException
+	{
+		TestConfig conf = manager.getConfig(TestConfig.class);
+		Assert.assertEquals("default", conf.key());
+
+		manager.setConfiguration("test", "key", "moo");
+		Assert.assertEquals("moo", conf.key());
+
+		manager.setConfiguration("test", "key", "cow");
+		Assert.assertEquals("cow", conf.key());
+
+		manager.unsetConfiguration("test", "key");
+		Assert.assertEquals("default", conf.key());
+	}
+
+	@Test
+	public void testSaveCoalesced() throws IOException
+	{
+		ScheduledFuture<?> future = mock(ScheduledFuture.class);
+		doReturn(future).when(executor).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+
+		manager.setConfiguration("test", "key", "moo");
+		manager.setConfiguration("test", "key2", "cow");
+		manager.unsetConfiguration("test", "key");
+
+		verify(executor, times(1)).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+		Assert.assertEquals(2, manager.getCoalescedSaves());
+	}
+
 	@Test
 	public void testGetConfigDescriptor() throws IOException
 	{
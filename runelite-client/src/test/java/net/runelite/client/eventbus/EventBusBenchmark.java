@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.eventbus;
+
+import java.util.concurrent.TimeUnit;
+import net.runelite.api.MenuAction;
+import net.runelite.api.events.BeforeRender;
+import net.runelite.api.events.GameTick;
+import net.runelite.api.events.MenuEntryAdded;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures posting the events which are posted every frame, tick or menu
+ * entry, and registering a subscriber while others are registered.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class EventBusBenchmark
+{
+	public static class Subscriber
+	{
+		private final Blackhole blackhole;
+
+		Subscriber(Blackhole blackhole)
+		{
+			this.blackhole = blackhole;
+		}
+
+		@Subscribe
+		public void onBeforeRender(BeforeRender event)
+		{
+			blackhole.consume(event);
+		}
+
+		@Subscribe
+		public void onGameTick(GameTick event)
+		{
+			blackhole.consume(event);
+		}
+
+		@Subscribe
+		public void onMenuEntryAdded(MenuEntryAdded event)
+		{
+			blackhole.consume(event);
+		}
+	}
+
+	@Param({"1", "10", "50"})
+	private int subscribers;
+
+	private final BeforeRender beforeRender = new BeforeRender();
+	private final GameTick gameTick = new GameTick();
+	private final MenuEntryAdded menuEntryAdded = new MenuEntryAdded("Walk here", "", MenuAction.WALK.getId(), 0, 0, 0);
+
+	private EventBus eventBus;
+
+	@Setup
+	public void setup(Blackhole blackhole)
+	{
+		eventBus = new EventBus();
+		for (int i = 0; i < subscribers; ++i)
+		{
+			eventBus.register(new Subscriber(blackhole));
+		}
+	}
+
+	@Benchmark
+	public void postBeforeRender()
+	{
+		eventBus.post(beforeRender);
+	}
+
+	@Benchmark
+	public void postGameTick()
+	{
+		eventBus.post(gameTick);
+	}
+
+	@Benchmark
+	public void postMenuEntryAdded()
+	{
+		eventBus.post(menuEntryAdded);
+	}
+
+	@Benchmark
+	public void registerUnregister(Blackhole blackhole)
+	{
+		Subscriber subscriber = new Subscriber(blackhole);
+		eventBus.register(subscriber);
+		eventBus.unregister(subscriber);
+	}
+
+	public static void main(String[] args) throws RunnerException
+	{
+		new Runner(new OptionsBuilder()
+			.include(EventBusBenchmark.class.getSimpleName())
+			.build()).run();
+	}
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.eventbus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import net.runelite.api.events.GameTick;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+public class EventBusTest
+{
+	private static class Subscriber
+	{
+		private final List<String> calls;
+		private final String name;
+
+		Subscriber(List<String> calls, String name)
+		{
+			this.calls = calls;
+			this.name = name;
+		}
+
+		@Subscribe
+		public void onGameTick(GameTick tick)
+		{
+			calls.add(name);
+		}
+	}
+
+	private static class ThrowingSubscriber
+	{
+		@Subscribe
+		public void onGameTick(GameTick tick)
+		{
+			throw new IllegalStateException();
+		}
+	}
+
+	private static class BadlyNamedSubscriber
+	{
+		@Subscribe
+		public void tick(GameTick tick)
+		{
+		}
+	}
+
+	@Test
+	public void testPostOrder()
+	{
+		List<String> calls = new ArrayList<>();
+		EventBus eventBus = new EventBus();
+		Subscriber a = new Subscriber(calls, "a");
+		Subscriber b = new Subscriber(calls, "b");
+		Subscriber c = new Subscriber(calls, "c");
+		eventBus.register(a);
+		eventBus.register(b);
+		eventBus.register(c);
+
+		eventBus.post(new GameTick());
+		assertEquals(Arrays.asList("a", "b", "c"), calls);
+
+		calls.clear();
+		eventBus.unregister(b);
+		eventBus.post(new GameTick());
+		assertEquals(Arrays.asList("a", "c"), calls);
+	}
+
+	@Test
+	public void testRegisterAll()
+	{
+		List<String> calls = new ArrayList<>();
+		EventBus eventBus = new EventBus();
+		eventBus.register(new Subscriber(calls, "a"));
+		eventBus.registerAll(Arrays.asList(new Subscriber(calls, "b"), new Subscriber(calls, "c")));
+
+		eventBus.post(new GameTick());
+		assertEquals(Arrays.asList("a", "b", "c"), calls);
+
+		// an invalid subscriber in the batch means none of it is registered
+		try
+		{
+			eventBus.registerAll(Arrays.asList(new Subscriber(calls, "d"), new BadlyNamedSubscriber()));
+			fail();
+		}
+		catch (IllegalArgumentException ex)
+		{
+			// expected
+		}
+
+		calls.clear();
+		eventBus.post(new GameTick());
+		assertEquals(Arrays.asList("a", "b", "c"), calls);
+	}
+
+	@Test
+	public void testEventStats()
+	{
+		List<Throwable> exceptions = new ArrayList<>();
+		EventBus eventBus = new EventBus(exceptions::add);
+		eventBus.register(new Subscriber(new ArrayList<>(), "a"));
+		eventBus.register(new ThrowingSubscriber());
+
+		eventBus.post(new GameTick());
+		eventBus.post(new GameTick());
+		eventBus.post(new Object());
+
+		assertEquals(2, exceptions.size());
+
+		Map<Class<?>, EventBus.EventStats> stats = eventBus.getEventStats().stream()
+			.collect(Collectors.toMap(EventBus.EventStats::getType, Function.identity()));
+		assertEquals(2, stats.size());
+
+		EventBus.EventStats tickStats = stats.get(GameTick.class);
+		assertEquals(2, tickStats.getSubscribers());
+		assertEquals(2, tickStats.getPosts());
+		assertEquals(2, tickStats.getExceptions());
+		assertTrue(tickStats.getNanos() >= 0);
+
+		EventBus.EventStats objectStats = stats.get(Object.class);
+		assertEquals(0, objectStats.getSubscribers());
+		assertEquals(1, objectStats.getPosts());
+	}
+}
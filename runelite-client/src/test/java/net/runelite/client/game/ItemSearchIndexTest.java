@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.game;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import net.runelite.http.api.item.ItemPrice;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+public class ItemSearchIndexTest
+{
+	private final ItemSearchIndex index = new ItemSearchIndex(prices(
+		"Dragon dagger(p++)",
+		"Rune dagger",
+		"Dagger",
+		"Bronze dagger",
+		"Daggerfish",
+		"Abyssal whip",
+		"Whip"
+	));
+
+	@Test
+	public void testSearch()
+	{
+		assertEquals(Arrays.asList("Dragon dagger(p++)", "Rune dagger", "Dagger", "Bronze dagger", "Daggerfish"), names(index.search("DAGGER", 100)));
+		assertEquals(Arrays.asList("Dragon dagger(p++)", "Rune dagger"), names(index.search("dagger", 2)));
+		assertEquals(Arrays.asList("Abyssal whip", "Whip"), names(index.search("wh", 100)));
+		assertEquals(Arrays.<String>asList(), names(index.search("zzz", 100)));
+	}
+
+	@Test
+	public void testSearchPrefix()
+	{
+		assertEquals(Arrays.asList("Dagger", "Daggerfish"), names(index.searchPrefix("dag", 100)));
+		assertEquals(Arrays.asList("Whip"), names(index.searchPrefix("whip", 100)));
+		assertEquals(Arrays.<String>asList(), names(index.searchPrefix("x", 100)));
+	}
+
+	@Test
+	public void testSearchRanked()
+	{
+		assertEquals(Arrays.asList("Dagger", "Daggerfish", "Rune dagger", "Bronze dagger", "Dragon dagger(p++)"), names(index.searchRanked("dagger", 100)));
+		assertEquals(Arrays.asList("Whip", "Abyssal whip"), names(index.searchRanked("whip", 2)));
+		assertEquals(Arrays.asList("Whip"), names(index.searchRanked("whip", 1)));
+	}
+
+	private static List<ItemPrice> prices(String... names)
+	{
+		final List<ItemPrice> prices = new ArrayList<>();
+		for (int i = 0; i < names.length; ++i)
+		{
+			final ItemPrice price = new ItemPrice();
+			price.setId(i);
+			price.setName(names[i]);
+			prices.add(price);
+		}
+		return prices;
+	}
+
+	private static List<String> names(List<ItemPrice> prices)
+	{
+		return prices.stream().map(ItemPrice::getName).collect(Collectors.toList());
+	}
+}
@@ -35,15 +35,19 @@ import com.google.inject.testing.fieldbinder.Bind;
 import com.google.inject.testing.fieldbinder.BoundFieldModule;
 import com.google.inject.util.Modules;
 import java.applet.Applet;
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Collectors;
 import net.runelite.api.Client;
 import net.runelite.client.RuneLite;
 import net.runelite.client.RuneLiteModule;
@@ -125,6 +129,27 @@ public class PluginManagerTest
 		assertEquals(expected, plugins.size());
 	}
 
+	@Test
+	public void testPluginIndex() throws Exception
+	{
+		// the index written by the plugin processor lists exactly the plugins found by scanning
+		Set<String> indexed = new HashSet<>();
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+			getClass().getClassLoader().getResourceAsStream("META-INF/runelite/plugins"), StandardCharsets.UTF_8)))
+		{
+			String line;
+			while ((line = reader.readLine()) != null)
+			{
+				indexed.add(line.substring(0, line.indexOf('\t')));
+			}
+		}
+
+		Set<String> scanned = pluginClasses.stream()
+			.map(Class::getName)
+			.collect(Collectors.toSet());
+		assertEquals(scanned, indexed);
+	}
+
 	@Test
 	public void dumpGraph() throws Exception
 	{
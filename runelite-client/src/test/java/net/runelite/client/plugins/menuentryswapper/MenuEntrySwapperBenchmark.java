@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.menuentryswapper;
+
+import com.google.inject.Guice;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.api.MenuAction;
+import net.runelite.api.MenuEntry;
+import net.runelite.api.events.MenuEntryAdded;
+import net.runelite.client.config.ConfigManager;
+import net.runelite.client.input.KeyManager;
+import net.runelite.client.menus.MenuManager;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Replays building a crowded menu, a stack of bankers in front of a row of bank
+ * booths, through the plugin with every swap enabled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MenuEntrySwapperBenchmark
+{
+	@Param({"1", "10", "40"})
+	private int bankers;
+
+	private final List<MenuEntry> menu = new ArrayList<>();
+	private final List<MenuEntryAdded> events = new ArrayList<>();
+
+	private MenuEntry[] entries;
+	private int count;
+
+	private MenuEntrySwapperPlugin plugin;
+
+	@Setup
+	public void setup()
+	{
+		Client client = mock(Client.class);
+		when(client.getGameState()).thenReturn(GameState.LOGGED_IN);
+		when(client.getMenuEntries()).thenAnswer(invocation ->
+		{
+			MenuEntry[] copy = new MenuEntry[count];
+			System.arraycopy(entries, 0, copy, 0, count);
+			return copy;
+		});
+		doAnswer(invocation ->
+		{
+			MenuEntry[] set = (MenuEntry[]) invocation.getArguments()[0];
+			System.arraycopy(set, 0, entries, 0, set.length);
+			count = set.length;
+			return null;
+		}).when(client).setMenuEntries(any(MenuEntry[].class));
+
+		MenuEntrySwapperConfig config = mock(MenuEntrySwapperConfig.class, invocation ->
+		{
+			Class<?> type = invocation.getMethod().getReturnType();
+			if (type == HouseMode.class)
+			{
+				return HouseMode.HOME;
+			}
+			if (type == FairyRingMode.class)
+			{
+				return FairyRingMode.LAST_DESTINATION;
+			}
+			return type == boolean.class;
+		});
+		when(config.shiftClickCustomization()).thenReturn(false);
+
+		plugin = Guice.createInjector(binder ->
+		{
+			binder.bind(Client.class).toInstance(client);
+			binder.bind(MenuEntrySwapperConfig.class).toInstance(config);
+			binder.bind(ShiftClickInputListener.class).toInstance(mock(ShiftClickInputListener.class));
+			binder.bind(ConfigManager.class).toInstance(mock(ConfigManager.class));
+			binder.bind(KeyManager.class).toInstance(mock(KeyManager.class));
+			binder.bind(MenuManager.class).toInstance(mock(MenuManager.class));
+		}).getInstance(MenuEntrySwapperPlugin.class);
+		plugin.startUp();
+
+		// entries are added lowest priority first
+		add("Cancel", "");
+		for (int i = 0; i < bankers; ++i)
+		{
+			add("Examine", "<col=ffff>Bank booth");
+			add("Collect", "<col=ffff>Bank booth");
+			add("Bank", "<col=ffff>Bank booth");
+		}
+		for (int i = 0; i < bankers; ++i)
+		{
+			add("Examine", "<col=ffff00>Banker");
+			add("Collect", "<col=ffff00>Banker");
+			add("Bank", "<col=ffff00>Banker");
+			add("Talk-to", "<col=ffff00>Banker");
+		}
+		add("Walk here", "");
+
+		entries = new MenuEntry[menu.size()];
+	}
+
+	@Benchmark
+	public MenuEntry[] buildMenu()
+	{
+		count = 0;
+		for (int i = 0; i < events.size(); ++i)
+		{
+			entries[count++] = menu.get(i);
+			plugin.onMenuEntryAdded(events.get(i));
+		}
+		return entries;
+	}
+
+	private void add(String option, String target)
+	{
+		MenuEntry entry = new MenuEntry();
+		entry.setOption(option);
+		entry.setTarget(target);
+		entry.setType(MenuAction.NPC_FIRST_OPTION.getId());
+		menu.add(entry);
+		events.add(new MenuEntryAdded(option, target, entry.getType(), 0, 0, 0));
+	}
+
+	public static void main(String[] args) throws RunnerException
+	{
+		new Runner(new OptionsBuilder()
+			.include(MenuEntrySwapperBenchmark.class.getSimpleName())
+			.build()).run();
+	}
+}
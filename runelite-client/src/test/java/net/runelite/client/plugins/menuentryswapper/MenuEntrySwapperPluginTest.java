@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.menuentryswapper;
+
+import com.google.inject.Guice;
+import com.google.inject.testing.fieldbinder.Bind;
+import com.google.inject.testing.fieldbinder.BoundFieldModule;
+import javax.inject.Inject;
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.api.MenuAction;
+import net.runelite.api.MenuEntry;
+import net.runelite.api.events.MenuEntryAdded;
+import net.runelite.client.config.ConfigManager;
+import net.runelite.client.input.KeyManager;
+import net.runelite.client.menus.MenuManager;
+import org.apache.commons.lang3.ArrayUtils;
+import static org.junit.Assert.assertEquals;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MenuEntrySwapperPluginTest
+{
+	@Mock
+	@Bind
+	private Client client;
+
+	@Mock
+	@Bind
+	private MenuEntrySwapperConfig config;
+
+	@Mock
+	@Bind
+	private ShiftClickInputListener inputListener;
+
+	@Mock
+	@Bind
+	private ConfigManager configManager;
+
+	@Mock
+	@Bind
+	private KeyManager keyManager;
+
+	@Mock
+	@Bind
+	private MenuManager menuManager;
+
+	@Inject
+	private MenuEntrySwapperPlugin plugin;
+
+	private MenuEntry[] entries = new MenuEntry[0];
+
+	@Before
+	public void before()
+	{
+		Guice.createInjector(BoundFieldModule.of(this)).injectMembers(this);
+
+		when(client.getGameState()).thenReturn(GameState.LOGGED_IN);
+		when(client.getMenuEntries()).thenAnswer(invocation -> entries.clone());
+		doAnswer(invocation ->
+		{
+			entries = (MenuEntry[]) invocation.getArguments()[0];
+			return null;
+		}).when(client).setMenuEntries(any(MenuEntry[].class));
+
+		when(config.swapHomePortal()).thenReturn(HouseMode.ENTER);
+		when(config.swapFairyRing()).thenReturn(FairyRingMode.OFF);
+	}
+
+	@Test
+	public void testBank()
+	{
+		when(config.swapBank()).thenReturn(true);
+		plugin.startUp();
+
+		add("Examine", "<col=ffff00>Banker");
+		add("Collect", "<col=ffff00>Banker");
+		add("Bank", "<col=ffff00>Banker");
+		add("Talk-to", "<col=ffff00>Banker");
+
+		assertEquals("Bank", entries[3].getOption());
+		assertEquals("Talk-to", entries[2].getOption());
+	}
+
+	@Test
+	public void testBranchOrder()
+	{
+		when(config.swapTravel()).thenReturn(true);
+		when(config.swapQuick()).thenReturn(true);
+		plugin.startUp();
+
+		// the energy barrier swap takes priority over the quick pass swap
+		add("Quick-pass", "Energy barrier");
+		add("Pay-toll(2-ecto)", "Energy barrier");
+		add("Pass", "Energy barrier");
+		assertEquals("Pay-toll(2-ecto)", entries[2].getOption());
+
+		entries = new MenuEntry[0];
+		add("Quick-pass", "Door");
+		add("Pass", "Door");
+		assertEquals("Quick-pass", entries[1].getOption());
+	}
+
+	@Test
+	public void testFairyRing()
+	{
+		when(config.swapFairyRing()).thenReturn(FairyRingMode.LAST_DESTINATION);
+		plugin.startUp();
+
+		add("Last-destination (DKS)", "Fairy ring");
+		add("Configure", "Fairy ring");
+		add("Zanaris", "Fairy ring");
+		assertEquals("Last-destination (DKS)", entries[2].getOption());
+	}
+
+	@Test
+	public void testShiftClick()
+	{
+		when(config.swapTeleportItem()).thenReturn(true);
+		when(config.shiftClickCustomization()).thenReturn(true);
+		when(configManager.getConfiguration(anyString(), anyString())).thenReturn("-1");
+		plugin.startUp();
+
+		add("Use", "Ring of dueling(8)");
+		add("Rub", "Ring of dueling(8)");
+		add("Wear", "Ring of dueling(8)");
+		assertEquals("Rub", entries[2].getOption());
+
+		// shift click customization comes before the teleport item swap
+		plugin.setShiftModifier(true);
+		entries = new MenuEntry[0];
+		add("Use", "Ring of dueling(8)");
+		add("Rub", "Ring of dueling(8)");
+		add("Wear", "Ring of dueling(8)");
+		assertEquals("Use", entries[2].getOption());
+	}
+
+	private void add(String option, String target)
+	{
+		MenuEntry entry = new MenuEntry();
+		entry.setOption(option);
+		entry.setTarget(target);
+		entry.setType(MenuAction.NPC_FIRST_OPTION.getId());
+		entries = ArrayUtils.add(entries, entry);
+
+		plugin.onMenuEntryAdded(new MenuEntryAdded(option, target, entry.getType(), 0, 0, 0));
+	}
+}
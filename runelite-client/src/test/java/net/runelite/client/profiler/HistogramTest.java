@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.profiler;
+
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+public class HistogramTest
+{
+	@Test
+	public void testBucket()
+	{
+		assertEquals(0, Histogram.bucket(0));
+		assertEquals(1, Histogram.bucket(1));
+		assertEquals(2, Histogram.bucket(2));
+		assertEquals(2, Histogram.bucket(3));
+		assertEquals(11, Histogram.bucket(1024));
+		assertEquals(63, Histogram.bucket(Long.MAX_VALUE));
+	}
+
+	@Test
+	public void testSnapshot()
+	{
+		final Histogram histogram = new Histogram();
+		for (int i = 0; i < 99; ++i)
+		{
+			histogram.record(1000);
+		}
+		histogram.record(1_000_000);
+
+		final Histogram.Snapshot snapshot = histogram.snapshot();
+		assertEquals(100, snapshot.getCount());
+		assertEquals(99 * 1000 + 1_000_000, snapshot.getTotalNanos());
+		assertEquals(1_000_000, snapshot.getMaxNanos());
+		assertEquals(10990, snapshot.getMeanNanos());
+		// 1000 falls in [512, 1024)
+		assertEquals(1023, snapshot.getPercentileNanos(0.5));
+		assertEquals(1023, snapshot.getPercentileNanos(0.99));
+		assertEquals(1_000_000, snapshot.getPercentileNanos(1));
+	}
+
+	@Test
+	public void testProfilerNames()
+	{
+		assertEquals("java.lang.String", Profiler.nameOf(String.class));
+		final Runnable r = () ->
+		{
+		};
+		assertEquals(HistogramTest.class.getName(), Profiler.nameOf(r.getClass()));
+	}
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.rs;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import org.junit.After;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class GamepackCacheTest
+{
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private final MockWebServer server = new MockWebServer();
+
+	private File directory;
+	private GamepackCache gamepackCache;
+
+	@Before
+	public void before() throws IOException
+	{
+		server.start();
+		directory = folder.newFolder();
+		gamepackCache = new GamepackCache(new OkHttpClient(), directory);
+	}
+
+	@After
+	public void after() throws IOException
+	{
+		server.shutdown();
+	}
+
+	@Test
+	public void testConditionalGet() throws Exception
+	{
+		server.enqueue(new MockResponse()
+			.setHeader("ETag", "\"1\"")
+			.setBody(jar()));
+		server.enqueue(new MockResponse().setResponseCode(304));
+
+		GamepackCache.Gamepack gamepack = gamepackCache.load(server.url("/gamepack_1.jar").url(), "key", classes ->
+		{
+			classes.put("client.class", "patched".getBytes(StandardCharsets.UTF_8));
+			return true;
+		});
+		assertTrue(gamepack.isPatched());
+		assertEquals("patched", string(gamepack.get("client.class")));
+		assertEquals("a", string(gamepack.get("a.class")));
+		assertNull(gamepack.get("b.class"));
+
+		RecordedRequest request = server.takeRequest();
+		assertNull(request.getHeader("If-None-Match"));
+
+		// the second load is served from the cache without patching
+		gamepack = gamepackCache.load(server.url("/gamepack_1.jar").url(), "key", classes ->
+		{
+			fail();
+			return false;
+		});
+		assertTrue(gamepack.isPatched());
+		assertEquals("patched", string(gamepack.get("client.class")));
+		assertEquals("a", string(gamepack.get("a.class")));
+
+		request = server.takeRequest();
+		assertEquals("\"1\"", request.getHeader("If-None-Match"));
+	}
+
+	@Test
+	public void testPatchSetChanged() throws Exception
+	{
+		server.enqueue(new MockResponse()
+			.setHeader("ETag", "\"1\"")
+			.setBody(jar()));
+		server.enqueue(new MockResponse()
+			.setHeader("ETag", "\"1\"")
+			.setBody(jar()));
+
+		gamepackCache.load(server.url("/gamepack_1.jar").url(), "key", classes -> true);
+		server.takeRequest();
+
+		// a different patch set can't use the cached classes, so must download the gamepack again
+		GamepackCache.Gamepack gamepack = gamepackCache.load(server.url("/gamepack_1.jar").url(), "other", classes -> false);
+		assertFalse(gamepack.isPatched());
+		assertEquals("vanilla", string(gamepack.get("client.class")));
+
+		RecordedRequest request = server.takeRequest();
+		assertNull(request.getHeader("If-None-Match"));
+	}
+
+	@Test
+	public void testCorruptArchive() throws Exception
+	{
+		loadCorrupted(file ->
+		{
+			// flip a bit of the last class
+			file.seek(file.length() - 1);
+			int b = file.read();
+			file.seek(file.length() - 1);
+			file.write(b ^ 1);
+		});
+	}
+
+	@Test
+	public void testTruncatedArchive() throws Exception
+	{
+		loadCorrupted(file -> file.setLength(file.length() - 3));
+	}
+
+	private interface Corrupter
+	{
+		void corrupt(RandomAccessFile file) throws IOException;
+	}
+
+	/**
+	 * Cache the gamepack, corrupt the archive, and check the gamepack is downloaded again
+	 * instead of the archive being used
+	 */
+	private void loadCorrupted(Corrupter corrupter) throws Exception
+	{
+		server.enqueue(new MockResponse()
+			.setHeader("ETag", "\"1\"")
+			.setBody(jar()));
+		server.enqueue(new MockResponse().setResponseCode(304));
+		server.enqueue(new MockResponse()
+			.setHeader("ETag", "\"1\"")
+			.setBody(jar()));
+
+		gamepackCache.load(server.url("/gamepack_1.jar").url(), "key", classes -> true);
+		server.takeRequest();
+
+		try (RandomAccessFile file = new RandomAccessFile(new File(directory, "gamepack.cache"), "rw"))
+		{
+			corrupter.corrupt(file);
+		}
+
+		GamepackCache.Gamepack gamepack = gamepackCache.load(server.url("/gamepack_1.jar").url(), "key", classes -> true);
+		assertEquals("vanilla", string(gamepack.get("client.class")));
+		assertEquals("a", string(gamepack.get("a.class")));
+
+		assertEquals("\"1\"", server.takeRequest().getHeader("If-None-Match"));
+		assertNull(server.takeRequest().getHeader("If-None-Match"));
+	}
+
+	private static Buffer jar() throws IOException
+	{
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (JarOutputStream jar = new JarOutputStream(out))
+		{
+			jar.putNextEntry(new JarEntry("client.class"));
+			jar.write("vanilla".getBytes(StandardCharsets.UTF_8));
+			jar.putNextEntry(new JarEntry("a.class"));
+			jar.write("a".getBytes(StandardCharsets.UTF_8));
+		}
+
+		Buffer buffer = new Buffer();
+		buffer.write(out.toByteArray());
+		return buffer;
+	}
+
+	private static String string(ByteBuffer buffer)
+	{
+		byte[] bytes = new byte[buffer.remaining()];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
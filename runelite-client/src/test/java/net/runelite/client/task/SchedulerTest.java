@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.task;
+
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.runelite.client.profiler.Profiler;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SchedulerTest
+{
+	private final AtomicInteger syncRuns = new AtomicInteger();
+	private final CountDownLatch started = new CountDownLatch(1);
+	private final CountDownLatch release = new CountDownLatch(1);
+
+	private Scheduler scheduler;
+
+	@Before
+	public void before()
+	{
+		scheduler = new Scheduler();
+		scheduler.profiler = new Profiler();
+	}
+
+	@Schedule(period = 10, unit = ChronoUnit.MILLIS)
+	public void sync()
+	{
+		syncRuns.incrementAndGet();
+	}
+
+	@Schedule(period = 10, unit = ChronoUnit.MILLIS, asynchronous = true)
+	public void async() throws InterruptedException
+	{
+		started.countDown();
+		release.await();
+	}
+
+	@Test
+	public void testMissedPeriodsAreSkipped() throws Exception
+	{
+		final ScheduledMethod method = schedule("sync");
+
+		scheduler.tick();
+		assertEquals(0, syncRuns.get());
+
+		Thread.sleep(50);
+		scheduler.tick();
+		scheduler.tick();
+		assertEquals(1, syncRuns.get());
+		assertEquals(1, method.getRuns());
+	}
+
+	@Test
+	public void testAsyncOverlap() throws Exception
+	{
+		final ScheduledMethod method = schedule("async");
+
+		Thread.sleep(15);
+		scheduler.tick();
+		assertTrue(started.await(1, TimeUnit.SECONDS));
+
+		Thread.sleep(15);
+		scheduler.tick();
+		release.countDown();
+
+		assertEquals(1, method.getSkipped());
+	}
+
+	private ScheduledMethod schedule(String name) throws NoSuchMethodException
+	{
+		final ScheduledMethod method = new ScheduledMethod(getClass().getMethod(name).getAnnotation(Schedule.class), getClass().getMethod(name), this);
+		scheduler.addScheduledMethod(method);
+		return method;
+	}
+}
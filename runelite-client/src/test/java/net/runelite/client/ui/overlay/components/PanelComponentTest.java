@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.ui.overlay.components;
+
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.ImageObserver;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.eq;
+import org.mockito.Mock;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PanelComponentTest
+{
+	@Mock
+	private Graphics2D graphics;
+
+	@Before
+	public void before()
+	{
+		when(graphics.getFontMetrics()).thenReturn(mock(FontMetrics.class));
+		when(graphics.getRenderingHints()).thenReturn(new RenderingHints(null));
+	}
+
+	@Test
+	public void testCached()
+	{
+		final PanelComponent panelComponent = new PanelComponent();
+		panelComponent.setCached(true);
+
+		for (int i = 0; i < 4; ++i)
+		{
+			panelComponent.getChildren().clear();
+			panelComponent.getChildren().add(LineComponent.builder().left("left").right("right").build());
+			panelComponent.render(graphics);
+		}
+
+		// rendered directly until the panel size settles, then to an image which is blitted
+		verify(graphics, times(2)).drawImage(any(Image.class), anyInt(), anyInt(), any(ImageObserver.class));
+
+		panelComponent.getChildren().clear();
+		panelComponent.getChildren().add(LineComponent.builder().left("left").right("changed").build());
+		panelComponent.render(graphics);
+
+		verify(graphics, times(2)).drawImage(any(Image.class), anyInt(), anyInt(), any(ImageObserver.class));
+	}
+
+	@Test
+	public void testCachedHashCollision()
+	{
+		final PanelComponent panelComponent = new PanelComponent();
+		panelComponent.setCached(true);
+
+		for (int i = 0; i < 4; ++i)
+		{
+			panelComponent.getChildren().clear();
+			panelComponent.getChildren().add(LineComponent.builder().left("Aa").build());
+			panelComponent.render(graphics);
+		}
+
+		verify(graphics, times(2)).drawImage(any(Image.class), anyInt(), anyInt(), any(ImageObserver.class));
+
+		// "Aa" and "BB" have the same hash code
+		panelComponent.getChildren().clear();
+		panelComponent.getChildren().add(LineComponent.builder().left("BB").build());
+		panelComponent.render(graphics);
+
+		verify(graphics, times(2)).drawImage(any(Image.class), anyInt(), anyInt(), any(ImageObserver.class));
+	}
+
+	@Test
+	public void testNotCachedWithImages()
+	{
+		final BufferedImage image = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+		final PanelComponent panelComponent = new PanelComponent();
+		panelComponent.setCached(true);
+		panelComponent.getChildren().add(new ImageComponent(image));
+
+		for (int i = 0; i < 4; ++i)
+		{
+			panelComponent.render(graphics);
+		}
+
+		// only drawn by the image component itself
+		verify(graphics, times(4)).drawImage(any(Image.class), anyInt(), anyInt(), any(ImageObserver.class));
+		verify(graphics, times(4)).drawImage(eq(image), anyInt(), anyInt(), any(ImageObserver.class));
+	}
+}
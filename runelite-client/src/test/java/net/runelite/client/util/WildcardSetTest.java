@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.util;
+
+import com.google.common.base.Strings;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class WildcardSetTest
+{
+	@Test
+	public void testMatches()
+	{
+		WildcardSet set = WildcardSet.of(Arrays.asList("rune*", "Abyssal whip"));
+		assertTrue(set.matches("rune pouch"));
+		assertTrue(set.matches("Rune pouch"));
+		assertFalse(set.matches("Adamant dagger"));
+		assertTrue(set.matches("Runeite Ore"));
+		assertTrue(set.matches("Abyssal whip"));
+		assertTrue(set.matches("ABYSSAL WHIP"));
+		assertFalse(set.matches("Abyssal dagger"));
+		assertFalse(set.matches("Abyssal whi"));
+
+		// patterns are trimmed, as when split from a config list by hand
+		set = WildcardSet.of(Arrays.asList("coins", " bones", " dragon* "));
+		assertTrue(set.matches("Coins"));
+		assertTrue(set.matches("Bones"));
+		assertTrue(set.matches("Dragon bones"));
+	}
+
+	@Test
+	public void testParse()
+	{
+		WildcardSet set = WildcardSet.parse("goblin, , zulrah   , *wyvern, ,");
+		assertTrue(set.matches("Goblin"));
+		assertTrue(set.matches("Zulrah"));
+		assertTrue(set.matches("Skeletal Wyvern"));
+		assertTrue(set.matches("wyvern"));
+		assertFalse(set.matches("Wyvern egg"));
+		assertFalse(set.matches("Hobgoblin"));
+
+		assertTrue(WildcardSet.parse("").isEmpty());
+		assertFalse(WildcardSet.parse("").matches("Goblin"));
+		assertFalse(set.matches(null));
+	}
+
+	@Test
+	public void testWildcards()
+	{
+		WildcardSet set = WildcardSet.parse("*dragon*bones, a*b*a");
+		assertTrue(set.matches("Dragon bones"));
+		assertTrue(set.matches("Baby blue dragon bones"));
+		assertTrue(set.matches("dragonbones"));
+		assertFalse(set.matches("Dragon bone"));
+		assertTrue(set.matches("aba"));
+		assertTrue(set.matches("abbba"));
+		assertFalse(set.matches("ab"));
+		assertFalse(set.matches("abab"));
+
+		assertTrue(WildcardSet.parse("***").matches("anything"));
+	}
+
+	@Test
+	public void testManyPatterns()
+	{
+		// enough patterns to span several words of automaton state, plus one too long for a word
+		List<String> patterns = new ArrayList<>();
+		for (int i = 0; i < 100; ++i)
+		{
+			patterns.add("npc " + i + "*");
+		}
+		patterns.add("*" + Strings.repeat("x", 70) + "*");
+
+		WildcardSet set = WildcardSet.of(patterns);
+		assertTrue(set.matches("NPC 0"));
+		assertTrue(set.matches("npc 99 (level 3)"));
+		assertTrue(set.matches("npc 55"));
+		assertFalse(set.matches("npc"));
+		assertTrue(set.matches("y" + Strings.repeat("X", 71)));
+		assertFalse(set.matches(Strings.repeat("x", 69)));
+	}
+}
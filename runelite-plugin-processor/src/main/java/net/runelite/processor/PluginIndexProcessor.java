@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2019, Adam <Adam@sigterm.info>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.processor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.SimpleAnnotationValueVisitor8;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Writes an index of the plugins being compiled to {@value #INDEX}, so that the client can
+ * load its plugins without scanning the classpath for them. Each line of the index is a
+ * plugin class name, its loadWhenOutdated and developerPlugin flags, and the comma separated
+ * class names of the plugins it depends on, separated by tabs.
+ */
+@SupportedAnnotationTypes(PluginIndexProcessor.PLUGIN_DESCRIPTOR)
+public class PluginIndexProcessor extends AbstractProcessor
+{
+	static final String PLUGIN_DESCRIPTOR = "net.runelite.client.plugins.PluginDescriptor";
+	private static final String PLUGIN = "net.runelite.client.plugins.Plugin";
+	private static final String PLUGIN_DEPENDENCY = "net.runelite.client.plugins.PluginDependency";
+	private static final String PLUGIN_DEPENDENCIES = "net.runelite.client.plugins.PluginDependencies";
+
+	static final String INDEX = "META-INF/runelite/plugins";
+
+	/**
+	 * Index lines by plugin class name, sorted so the index is reproducible
+	 */
+	private final Map<String, String> plugins = new TreeMap<>();
+	private final List<Element> originatingElements = new ArrayList<>();
+
+	@Override
+	public SourceVersion getSupportedSourceVersion()
+	{
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv)
+	{
+		for (TypeElement annotation : annotations)
+		{
+			for (Element element : roundEnv.getElementsAnnotatedWith(annotation))
+			{
+				addPlugin(element);
+			}
+		}
+
+		if (roundEnv.processingOver() && !plugins.isEmpty())
+		{
+			readIndex();
+			writeIndex();
+		}
+
+		return false;
+	}
+
+	private void addPlugin(Element element)
+	{
+		if (element.getKind() != ElementKind.CLASS || !isPlugin((TypeElement) element))
+		{
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+				"Class has plugin descriptor, but is not a plugin", element);
+			return;
+		}
+
+		final Elements elements = processingEnv.getElementUtils();
+		final TypeElement type = (TypeElement) element;
+
+		boolean loadWhenOutdated = false;
+		boolean developerPlugin = false;
+		final List<String> dependencies = new ArrayList<>();
+
+		for (AnnotationMirror mirror : type.getAnnotationMirrors())
+		{
+			final String name = nameOf(mirror.getAnnotationType());
+
+			switch (name)
+			{
+				case PLUGIN_DESCRIPTOR:
+					for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : elements.getElementValuesWithDefaults(mirror).entrySet())
+					{
+						final String key = entry.getKey().getSimpleName().toString();
+						if (key.equals("loadWhenOutdated"))
+						{
+							loadWhenOutdated = (Boolean) entry.getValue().getValue();
+						}
+						else if (key.equals("developerPlugin"))
+						{
+							developerPlugin = (Boolean) entry.getValue().getValue();
+						}
+					}
+					break;
+				case PLUGIN_DEPENDENCY:
+					dependencies.add(dependencyOf(mirror));
+					break;
+				case PLUGIN_DEPENDENCIES:
+					valueOf(mirror).accept(new SimpleAnnotationValueVisitor8<Void, Void>()
+					{
+						@Override
+						public Void visitArray(List<? extends AnnotationValue> values, Void p)
+						{
+							for (AnnotationValue value : values)
+							{
+								value.accept(this, p);
+							}
+							return null;
+						}
+
+						@Override
+						public Void visitAnnotation(AnnotationMirror pluginDependency, Void p)
+						{
+							dependencies.add(dependencyOf(pluginDependency));
+							return null;
+						}
+					}, null);
+					break;
+			}
+		}
+
+		final String className = elements.getBinaryName(type).toString();
+		plugins.put(className, className + '\t' + loadWhenOutdated + '\t' + developerPlugin + '\t' + String.join(",", dependencies));
+		originatingElements.add(type);
+	}
+
+	private static boolean hasDescriptor(TypeElement type)
+	{
+		for (AnnotationMirror mirror : type.getAnnotationMirrors())
+		{
+			if (nameOf(mirror.getAnnotationType()).equals(PLUGIN_DESCRIPTOR))
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean isPlugin(TypeElement type)
+	{
+		final TypeMirror superclass = type.getSuperclass();
+		return superclass.getKind() == TypeKind.DECLARED && nameOf((DeclaredType) superclass).equals(PLUGIN);
+	}
+
+	private String dependencyOf(AnnotationMirror pluginDependency)
+	{
+		final TypeMirror type = (TypeMirror) valueOf(pluginDependency).getValue();
+		return processingEnv.getElementUtils().getBinaryName((TypeElement) ((DeclaredType) type).asElement()).toString();
+	}
+
+	private static AnnotationValue valueOf(AnnotationMirror mirror)
+	{
+		for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues().entrySet())
+		{
+			if (entry.getKey().getSimpleName().contentEquals("value"))
+			{
+				return entry.getValue();
+			}
+		}
+
+		throw new IllegalArgumentException("annotation has no value: " + mirror);
+	}
+
+	private static String nameOf(DeclaredType type)
+	{
+		return ((TypeElement) type.asElement()).getQualifiedName().toString();
+	}
+
+	/**
+	 * Add the plugins in the index from a previous compilation which were not compiled this
+	 * time, as in an incremental build, if they still exist
+	 */
+	private void readIndex()
+	{
+		final Elements elements = processingEnv.getElementUtils();
+		final List<String> lines = new ArrayList<>();
+
+		try
+		{
+			final FileObject file = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", INDEX);
+			try (BufferedReader reader = new BufferedReader(file.openReader(true)))
+			{
+				String line;
+				while ((line = reader.readLine()) != null)
+				{
+					lines.add(line);
+				}
+			}
+		}
+		catch (IOException ex)
+		{
+			// there is no previous index
+			return;
+		}
+
+		for (String line : lines)
+		{
+			final String className = line.split("\t", 2)[0];
+			if (className.isEmpty() || plugins.containsKey(className))
+			{
+				continue;
+			}
+
+			final TypeElement type = elements.getTypeElement(className.replace('$', '.'));
+			if (type != null && hasDescriptor(type))
+			{
+				addPlugin(type);
+			}
+		}
+	}
+
+	private void writeIndex()
+	{
+		try
+		{
+			final FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX,
+				originatingElements.toArray(new Element[0]));
+
+			try (Writer writer = file.openWriter())
+			{
+				for (String line : plugins.values())
+				{
+					writer.write(line);
+					writer.write('\n');
+				}
+			}
+		}
+		catch (IOException ex)
+		{
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Unable to write plugin index: " + ex);
+		}
+	}
+}